@@ -0,0 +1,35 @@
+package com.speechtherapy.benchmarks;
+
+import com.speechtherapy.SpeechTherapyApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * Starts the backend against a private in-memory H2 database, on a random port and
+ * with logging turned down, so each benchmark trial gets a clean schema.
+ */
+final class BenchmarkApp {
+
+    private BenchmarkApp() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        String database = "bench-" + UUID.randomUUID();
+        // Command-line arguments, so they win over application.properties
+        return new SpringApplicationBuilder(SpeechTherapyApplication.class).run(
+            "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--server.port=0",
+            "--nlp.service.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.speechtherapy=WARN",
+            "--spring.main.banner-mode=off");
+    }
+}
@@ -0,0 +1,44 @@
+package com.speechtherapy.benchmarks;
+
+import com.speechtherapy.service.ExerciseCatalog;
+import com.speechtherapy.service.ExerciseMappingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExerciseMappingService#getMappedExercises()} over a catalog of {@code rows}
+ * body exercises.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CatalogBenchmark extends DatabaseBenchmarkState {
+
+    private ExerciseMappingService exerciseMappingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startBackend();
+        dataSets.bodyExercises(rows);
+        // Pick up the generated rows in the snapshot the service reads from
+        context.getBean(ExerciseCatalog.class).refresh();
+        exerciseMappingService = context.getBean(ExerciseMappingService.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> getMappedExercises() {
+        return exerciseMappingService.getMappedExercises();
+    }
+}
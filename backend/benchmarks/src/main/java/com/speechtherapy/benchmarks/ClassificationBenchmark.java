@@ -0,0 +1,63 @@
+package com.speechtherapy.benchmarks;
+
+import com.speechtherapy.model.DatabaseExercise;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type/difficulty/category getters of {@link DatabaseExercise}, both reading the
+ * stored classification columns and falling back to classifying the description
+ * (rows not yet reached by the backfill). One operation reads all three getters of
+ * one exercise, cycling through a fixed set of generated exercises.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassificationBenchmark {
+
+    private static final int EXERCISES = 1024;
+
+    @Param({ "stored", "computed" })
+    public String classification;
+
+    private DatabaseExercise[] exercises;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        exercises = new DatabaseExercise[EXERCISES];
+        for (int i = 0; i < EXERCISES; i++) {
+            DatabaseExercise exercise = new DatabaseExercise(
+                DataSets.DESCRIPTIONS[i % DataSets.DESCRIPTIONS.length] + " #" + i,
+                DataSets.MUSCLES[i % DataSets.MUSCLES.length]);
+            exercise.setId((long) i + 1);
+            if ("stored".equals(classification)) {
+                exercise.classify();
+            }
+            exercises[i] = exercise;
+        }
+    }
+
+    @Benchmark
+    public void classificationGetters(Blackhole blackhole) {
+        DatabaseExercise exercise = exercises[next++ & (EXERCISES - 1)];
+        blackhole.consume(exercise.getExerciseType());
+        blackhole.consume(exercise.getDifficultyLevel());
+        blackhole.consume(exercise.getCategory());
+    }
+}
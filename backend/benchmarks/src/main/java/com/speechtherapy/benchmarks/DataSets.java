@@ -0,0 +1,118 @@
+package com.speechtherapy.benchmarks;
+
+import com.speechtherapy.model.ExerciseClassifier;
+import com.speechtherapy.model.User;
+import com.speechtherapy.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated rows for the benchmark data sets, written with JDBC batches in
+ * fixed-size transactions. Values come from a seeded generator, so a given row
+ * count always produces the same data.
+ */
+final class DataSets {
+
+    static final int BATCH_SIZE = 10_000;
+
+    static final String[] DESCRIPTIONS = {
+        "Simple breathing exercise to improve breath control for speech",
+        "Gentle lip exercises to improve articulation",
+        "Tongue stretching and strengthening for clearer consonants",
+        "Jaw relaxation with slow controlled opening and closing",
+        "Advanced vocal resonance work across the full pitch range",
+        "Facial muscle warm-up before speaking practice",
+        "Complex diaphragmatic breathing with sustained phonation",
+        "Intermediate tongue twister drills for rapid articulation"
+    };
+
+    static final String[] MUSCLES = {
+        "Diaphragm, Lungs", "Lips, Facial muscles", "Tongue", "Jaw muscles, Neck muscles",
+        "Vocal cords, Larynx", "Facial muscles, Cheeks"
+    };
+
+    static final String[] GAMES = { "word-match", "tongue-twister", "sentence-builder", "quiz", "rhythm" };
+
+    static final String[] DIFFICULTIES = { "easy", "medium", "hard" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final Random random = new Random(42);
+
+    DataSets(ApplicationContext context) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.userRepository = context.getBean(UserRepository.class);
+    }
+
+    User user(String name) {
+        return userRepository.save(new User(name, name + "@bench.local", "bench-password", 30));
+    }
+
+    void bodyExercises(int rows) {
+        // The table is shared with the BodyExercise mapping, whose name/type/difficulty columns are NOT NULL
+        insert("INSERT INTO body_exercises (exercise_name, exercise_type, difficulty_level, description, " +
+                "target_muscles, duration_seconds, repetitions, sets, is_active, created_at, updated_at, " +
+                "derived_type, derived_difficulty, derived_category) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, true, ?, ?, ?, ?, ?)", rows, i -> {
+            String description = DESCRIPTIONS[i % DESCRIPTIONS.length] + " #" + i;
+            String muscles = MUSCLES[random.nextInt(MUSCLES.length)];
+            String type = ExerciseClassifier.typeOf(description);
+            String difficulty = ExerciseClassifier.difficultyOf(description);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            return new Object[] { "Generated exercise " + i, type, difficulty, description, muscles,
+                30 + random.nextInt(120), 1 + random.nextInt(15), 1 + random.nextInt(3), now, now,
+                type, difficulty, ExerciseClassifier.categoryOf(muscles, description) };
+        });
+    }
+
+    void gameScores(long userId, int rows) {
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        insert("INSERT INTO game_scores (user_id, game_id, points, accuracy, attempts, difficulty, timestamp, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows, i -> {
+            Timestamp at = Timestamp.valueOf(start.plusSeconds(i * 30L));
+            return new Object[] { userId, GAMES[random.nextInt(GAMES.length)], random.nextInt(1000),
+                50 + random.nextInt(50), 1 + random.nextInt(5), DIFFICULTIES[random.nextInt(DIFFICULTIES.length)], at, at };
+        });
+    }
+
+    void fluencyScores(long userId, int rows) {
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        insert("INSERT INTO fluency_scores (user_id, session_date, pronunciation_score, rhythm_score, pace_score, " +
+                "expression_score, overall_fluency_score, speaking_rate_wpm, pause_count, stutter_detected, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows, i -> {
+            Timestamp at = Timestamp.valueOf(start.plusSeconds(i * 30L));
+            return new Object[] { userId, at, score(), score(), score(), score(), score(),
+                90 + random.nextInt(90), random.nextInt(10), random.nextInt(20) == 0, at };
+        });
+    }
+
+    // Wide spread, so the weakness analysis sees both strong and weak areas
+    private int score() {
+        return 40 + random.nextInt(60);
+    }
+
+    private void insert(String sql, int rows, RowGenerator generator) {
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            int to = Math.min(rows, from + BATCH_SIZE);
+            List<Object[]> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(generator.row(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        Object[] row(int index);
+    }
+}
@@ -0,0 +1,34 @@
+package com.speechtherapy.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * A running backend on its own H2 database, loaded with {@code rows} generated rows
+ * by the subclass. Built once per trial, since loading the larger sets takes a while.
+ */
+@State(Scope.Benchmark)
+public abstract class DatabaseBenchmarkState {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    protected ConfigurableApplicationContext context;
+    protected DataSets dataSets;
+
+    protected void startBackend() {
+        context = BenchmarkApp.start();
+        dataSets = new DataSets(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBackend() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.speechtherapy.benchmarks;
+
+import com.speechtherapy.service.GameScoreService;
+import com.speechtherapy.service.UserGameStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameScoreService#getUserStatistics(Long)} for a user with {@code rows} game
+ * scores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GameStatisticsBenchmark extends DatabaseBenchmarkState {
+
+    private GameScoreService gameScoreService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startBackend();
+        userId = dataSets.user("game-stats").getId();
+        dataSets.gameScores(userId, rows);
+        // Scores were written behind the service's back, so rebuild the user's aggregate
+        context.getBean(UserGameStatsService.class).rebuild(userId);
+        gameScoreService = context.getBean(GameScoreService.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> getUserStatistics() {
+        return gameScoreService.getUserStatistics(userId);
+    }
+}
@@ -0,0 +1,54 @@
+package com.speechtherapy.benchmarks;
+
+import com.speechtherapy.service.SpeechAnalysisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The mock scorer used whenever the NLP service is disabled or failing. It needs no
+ * database, so the service is built directly rather than through Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockAnalysisBenchmark {
+
+    @Param({ "phoneme", "word", "sentence", "conversation" })
+    public String exerciseType;
+
+    private SpeechAnalysisService speechAnalysisService;
+    private String targetText;
+
+    @Setup
+    public void setUp() {
+        speechAnalysisService = new SpeechAnalysisService(null, null, null, null, null,
+            new SimpleMeterRegistry(), 1, 1);
+        targetText = switch (exerciseType) {
+            case "phoneme" -> "th";
+            case "word" -> "thought";
+            case "sentence" -> "The quick brown fox jumps over the lazy dog";
+            default -> "Could you tell me how to get to the train station from here?";
+        };
+    }
+
+    @Benchmark
+    public Map<String, Object> generateMockAnalysis() {
+        return speechAnalysisService.generateMockAnalysis(exerciseType, targetText);
+    }
+}
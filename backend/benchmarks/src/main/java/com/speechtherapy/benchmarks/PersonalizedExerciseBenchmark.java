@@ -0,0 +1,44 @@
+package com.speechtherapy.benchmarks;
+
+import com.speechtherapy.model.AIExercise;
+import com.speechtherapy.model.User;
+import com.speechtherapy.service.AIExerciseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AIExerciseService#generatePersonalizedExercise(User, String)} for a user with
+ * {@code rows} fluency sessions. Each operation also saves the generated exercise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersonalizedExerciseBenchmark extends DatabaseBenchmarkState {
+
+    private AIExerciseService aiExerciseService;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startBackend();
+        user = dataSets.user("personalized");
+        dataSets.fluencyScores(user.getId(), rows);
+        aiExerciseService = context.getBean(AIExerciseService.class);
+    }
+
+    @Benchmark
+    public AIExercise generatePersonalizedExercise() {
+        return aiExerciseService.generatePersonalizedExercise(user, "sentence");
+    }
+}
@@ -0,0 +1,152 @@
+package com.speechtherapy.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * The calls the load test can replay. Each builds one request for a given user;
+ * payloads are varied with the worker's random source, so analysis results are not
+ * served from the result cache.
+ */
+enum Endpoint {
+
+    ANALYZE("analyze") {
+        @Override
+        HttpRequest request(URI base, long userId, Random random) {
+            String boundary = "----loadtest" + Long.toHexString(random.nextLong());
+            byte[] body = multipart(boundary, wav(random), EXERCISE_TYPES[random.nextInt(EXERCISE_TYPES.length)],
+                TARGETS[random.nextInt(TARGETS.length)], userId);
+            return HttpRequest.newBuilder(base.resolve("/api/speech/analyze"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        }
+    },
+    SCORE("score") {
+        @Override
+        HttpRequest request(URI base, long userId, Random random) {
+            return json(base, "/api/games/score", String.format(
+                "{\"userId\":%d,\"gameId\":\"%s\",\"points\":%d,\"accuracy\":%d,\"attempts\":%d,\"difficulty\":\"%s\"}",
+                userId, GAMES[random.nextInt(GAMES.length)], random.nextInt(1000), 50 + random.nextInt(51),
+                1 + random.nextInt(5), DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]));
+        }
+    },
+    COMPLETE("complete") {
+        @Override
+        HttpRequest request(URI base, long userId, Random random) {
+            return json(base, "/api/completed-exercises/complete", String.format(
+                "{\"userId\":%d,\"exerciseName\":\"Exercise %d\",\"exerciseType\":\"%s\"," +
+                    "\"difficultyLevel\":\"%s\",\"durationSeconds\":%d,\"notes\":\"load test\"}",
+                userId, 1 + random.nextInt(15), EXERCISE_TYPES[random.nextInt(EXERCISE_TYPES.length)],
+                LEVELS[random.nextInt(LEVELS.length)], 30 + random.nextInt(270)));
+        }
+    },
+    LEADERBOARD("leaderboard") {
+        @Override
+        HttpRequest request(URI base, long userId, Random random) {
+            return get(base, "/api/games/leaderboard/" + GAMES[random.nextInt(GAMES.length)] + "?limit=10");
+        }
+    },
+    OVERALL_LEADERBOARD("overall-leaderboard") {
+        @Override
+        HttpRequest request(URI base, long userId, Random random) {
+            return get(base, "/api/games/leaderboard?limit=10");
+        }
+    },
+    GAME_STATS("game-stats") {
+        @Override
+        HttpRequest request(URI base, long userId, Random random) {
+            return get(base, "/api/games/user/" + userId + "/stats");
+        }
+    },
+    EXERCISE_STATS("exercise-stats") {
+        @Override
+        HttpRequest request(URI base, long userId, Random random) {
+            return get(base, "/api/completed-exercises/statistics/" + userId);
+        }
+    };
+
+    static final String[] GAMES = { "word-match", "tongue-twister", "sentence-builder", "quiz", "rhythm" };
+    static final String[] DIFFICULTIES = { "easy", "medium", "hard" };
+    static final String[] LEVELS = { "beginner", "intermediate", "advanced" };
+    static final String[] EXERCISE_TYPES = { "phoneme", "word", "sentence", "conversation" };
+    static final String[] TARGETS = { "th", "thought", "She sells sea shells", "How was your weekend?" };
+
+    // Half a second of 16 kHz mono PCM, the size of a short recorded attempt
+    private static final int SAMPLE_RATE = 16_000;
+    private static final int SAMPLES = SAMPLE_RATE / 2;
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest request(URI base, long userId, Random random);
+
+    static Endpoint named(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "'");
+    }
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+    }
+
+    private static HttpRequest json(URI base, String path, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    // A tone at a random pitch with a little noise, as a 16-bit PCM WAV file
+    static byte[] wav(Random random) {
+        double frequency = 120 + random.nextInt(200);
+        ByteBuffer data = ByteBuffer.allocate(44 + SAMPLES * 2).order(ByteOrder.LITTLE_ENDIAN);
+        data.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + SAMPLES * 2)
+            .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+            .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+            .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2).putShort((short) 2).putShort((short) 16)
+            .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(SAMPLES * 2);
+        for (int i = 0; i < SAMPLES; i++) {
+            double sample = Math.sin(2 * Math.PI * frequency * i / SAMPLE_RATE) * 8000 + random.nextGaussian() * 200;
+            data.putShort((short) sample);
+        }
+        return data.array();
+    }
+
+    private static byte[] multipart(String boundary, byte[] audio, String exerciseType, String targetText, long userId) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(audio.length + 1024);
+        String audioHeader = "--" + boundary + "\r\n" +
+            "Content-Disposition: form-data; name=\"audio\"; filename=\"attempt.wav\"\r\n" +
+            "Content-Type: audio/wav\r\n\r\n";
+        body.writeBytes(audioHeader.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(audio);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        field(body, boundary, "exerciseType", exerciseType);
+        field(body, boundary, "targetText", targetText);
+        field(body, boundary, "userId", Long.toString(userId));
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private static void field(ByteArrayOutputStream body, String boundary, String name, String value) {
+        String part = "--" + boundary + "\r\n" +
+            "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n";
+        body.writeBytes(part.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,29 @@
+package com.speechtherapy.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency percentiles and throughput of one endpoint over the measured window.
+ * Latencies are in milliseconds; percentiles use the nearest-rank method.
+ */
+record EndpointReport(String endpoint, long requests, long errors, double requestsPerSecond,
+                      double p50Ms, double p95Ms, double p99Ms, double maxMs, double meanMs) {
+
+    static EndpointReport of(String endpoint, long[] latenciesNanos, long errors, double seconds) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        int count = sorted.length;
+        double mean = count == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1e6;
+        return new EndpointReport(endpoint, count, errors, count / seconds,
+            percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+            count == 0 ? 0 : sorted[count - 1] / 1e6, mean);
+    }
+
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
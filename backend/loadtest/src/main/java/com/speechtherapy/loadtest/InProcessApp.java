@@ -0,0 +1,53 @@
+package com.speechtherapy.loadtest;
+
+import com.speechtherapy.SpeechTherapyApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * The backend started inside the load test's JVM on a random port, backed by a
+ * private in-memory H2 database and with the NLP service off (the mock scorer
+ * answers analysis requests), so a run needs no network or external services.
+ */
+final class InProcessApp implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final URI baseUri;
+
+    private InProcessApp(ConfigurableApplicationContext context) {
+        this.context = context;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    static InProcessApp start() {
+        String database = "loadtest-" + UUID.randomUUID();
+        // Command-line arguments, so they win over application.properties
+        return new InProcessApp(new SpringApplicationBuilder(SpeechTherapyApplication.class).run(
+            "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--server.port=0",
+            "--nlp.service.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.speechtherapy=WARN",
+            "--spring.main.banner-mode=off"));
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
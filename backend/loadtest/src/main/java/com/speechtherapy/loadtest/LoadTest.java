@@ -0,0 +1,212 @@
+package com.speechtherapy.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a weighted mix of analysis, game score, exercise completion, leaderboard and
+ * statistics calls against an in-process backend, then reports requests/sec and
+ * p50/p95/p99 latency per endpoint on the console and as JSON.
+ *
+ * <p>Workers run closed-loop: each sends its next request as soon as the previous
+ * one returns, so {@code loadtest.concurrency} sets the number of requests in flight.
+ * Requests started during the warm-up are sent but not counted.
+ */
+public final class LoadTest {
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (InProcessApp app = InProcessApp.start()) {
+            new LoadTest(config).run(app.baseUri());
+        }
+        // The backend's non-daemon pools are gone with the context; make sure the JVM exits too
+        System.exit(0);
+    }
+
+    void run(URI base) throws Exception {
+        System.out.printf("Signing up %d users against %s%n", config.users(), base);
+        long[] userIds = signUpUsers(base);
+
+        System.out.printf("Running %s with %d workers: %ds warm-up, %ds measured%n",
+            config.mix(), config.concurrency(), config.warmupSeconds(), config.durationSeconds());
+        long measureStart = System.nanoTime() + Duration.ofSeconds(config.warmupSeconds()).toNanos();
+        long measureEnd = measureStart + Duration.ofSeconds(config.durationSeconds()).toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        List<Future<Map<Endpoint, LatencyLog>>> results = new ArrayList<>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            Random random = new Random(config.seed() + i);
+            results.add(workers.submit(() -> work(base, userIds, random, measureStart, measureEnd)));
+        }
+        Map<Endpoint, LatencyLog> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, LatencyLog>> result : results) {
+            result.get().forEach((endpoint, log) -> merged.computeIfAbsent(endpoint, e -> new LatencyLog()).addAll(log));
+        }
+        workers.shutdown();
+
+        report(merged, config.durationSeconds());
+    }
+
+    private long[] signUpUsers(URI base) throws IOException, InterruptedException {
+        long[] ids = new long[config.users()];
+        for (int i = 0; i < ids.length; i++) {
+            String body = String.format("{\"name\":\"Load User %d\",\"email\":\"load%d@loadtest.local\",\"password\":\"loadtest\"}", i, i);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(base.resolve("/api/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+            JsonNode user = objectMapper.readTree(response.body()).path("user");
+            if (response.statusCode() >= 400 || !user.has("id")) {
+                throw new IllegalStateException("Signup failed with " + response.statusCode() + ": " + response.body());
+            }
+            ids[i] = user.get("id").asLong();
+        }
+        return ids;
+    }
+
+    private Map<Endpoint, LatencyLog> work(URI base, long[] userIds, Random random, long measureStart, long measureEnd) {
+        Map<Endpoint, LatencyLog> logs = new EnumMap<>(Endpoint.class);
+        Endpoint[] endpoints = config.mix().keySet().toArray(new Endpoint[0]);
+        int[] cumulative = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += config.mix().get(endpoints[i]);
+            cumulative[i] = total;
+        }
+
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= measureEnd) {
+                return logs;
+            }
+            int pick = Arrays.binarySearch(cumulative, random.nextInt(total) + 1);
+            Endpoint endpoint = endpoints[pick >= 0 ? pick : -pick - 1];
+            HttpRequest request = endpoint.request(base, userIds[random.nextInt(userIds.length)], random);
+
+            boolean failed;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return logs;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (start >= measureStart) {
+                logs.computeIfAbsent(endpoint, e -> new LatencyLog()).add(elapsed, failed);
+            }
+        }
+    }
+
+    private void report(Map<Endpoint, LatencyLog> logs, double seconds) throws IOException {
+        List<EndpointReport> reports = new ArrayList<>();
+        LatencyLog all = new LatencyLog();
+        logs.forEach((endpoint, log) -> {
+            reports.add(EndpointReport.of(endpoint.key(), log.latencies(), log.errors(), seconds));
+            all.addAll(log);
+        });
+        EndpointReport total = EndpointReport.of("total", all.latencies(), all.errors(), seconds);
+
+        System.out.printf("%n%-20s %9s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointReport report : reports) {
+            print(report);
+        }
+        print(total);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", Map.of(
+            "users", config.users(),
+            "concurrency", config.concurrency(),
+            "warmupSeconds", config.warmupSeconds(),
+            "durationSeconds", config.durationSeconds(),
+            "mix", mixByKey(),
+            "seed", config.seed()));
+        json.put("endpoints", reports);
+        json.put("total", total);
+        if (config.output().getParent() != null) {
+            Files.createDirectories(config.output().getParent());
+        }
+        objectMapper.writeValue(config.output().toFile(), json);
+        System.out.printf("%nReport written to %s%n", config.output().toAbsolutePath());
+    }
+
+    private Map<String, Integer> mixByKey() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+        return mix;
+    }
+
+    private static void print(EndpointReport report) {
+        System.out.printf("%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", report.endpoint(), report.requests(),
+            report.errors(), report.requestsPerSecond(), report.p50Ms(), report.p95Ms(), report.p99Ms(), report.maxMs());
+    }
+
+    /**
+     * Latencies and error count of one worker (or a merge of several) for one endpoint.
+     */
+    static final class LatencyLog {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latencyNanos, boolean failed) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        void addAll(LatencyLog other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(size + other.size, latencies.length * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        long[] latencies() {
+            return Arrays.copyOf(latencies, size);
+        }
+
+        long errors() {
+            return errors;
+        }
+    }
+}
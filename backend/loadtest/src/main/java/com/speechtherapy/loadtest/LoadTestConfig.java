@@ -0,0 +1,52 @@
+package com.speechtherapy.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param users            users signed up before the run; each request picks one at random
+ * @param concurrency      closed-loop workers, each sending its next request when the last returns
+ * @param warmupSeconds    traffic sent first and left out of the report
+ * @param durationSeconds  measured traffic
+ * @param mix              relative weight of each endpoint, e.g. {@code analyze=10,score=30}
+ * @param seed             seed for user, endpoint and payload choices
+ * @param output           where the JSON report is written
+ */
+record LoadTestConfig(int users, int concurrency, int warmupSeconds, int durationSeconds,
+                      Map<Endpoint, Integer> mix, long seed, Path output) {
+
+    static final String DEFAULT_MIX =
+        "analyze=10,score=30,complete=20,leaderboard=15,overall-leaderboard=5,game-stats=10,exercise-stats=10";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            Integer.getInteger("loadtest.users", 200),
+            Integer.getInteger("loadtest.concurrency", 16),
+            Integer.getInteger("loadtest.warmup-seconds", 10),
+            Integer.getInteger("loadtest.duration-seconds", 60),
+            parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+            Long.getLong("loadtest.seed", 42L),
+            Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json")));
+    }
+
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry '" + entry + "', expected name=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.named(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The request mix has no endpoint with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,24 @@
+package com.speechtherapy.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements a call to the annotated bean method (or any public method of
+ * the annotated bean) may run, enforced by {@link QueryBudgetGuard} when
+ * {@code sql.budget.mode} is {@code warn} or {@code fail}. Use it on work whose query
+ * count shouldn't grow with the data it reads.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface QueryBudget {
+
+    /**
+     * Statement budget for one call.
+     */
+    int value();
+}
@@ -0,0 +1,121 @@
+package com.speechtherapy.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Holds units of work to a budget of SQL statements, so query loops (N+1 patterns)
+ * are caught by the test run or the logs instead of by production latency.
+ *
+ * <p>Budgets apply per API request ({@code sql.budget.per-request}, or the handler
+ * method's {@link QueryBudget}; see {@link QueryBudgetInterceptor}), per call of any
+ * other {@link QueryBudget} bean method, and to code wrapped in {@link #run}. What happens on an overrun is set by {@code sql.budget.mode}:
+ * <ul>
+ *   <li>{@code off}: nothing is counted against budgets;</li>
+ *   <li>{@code warn}: a warning is logged with the stack of the first statement over budget;</li>
+ *   <li>{@code fail}: the unit of work throws {@link QueryBudgetExceededException} when it
+ *       ends, with that stack as the cause. Meant for tests and CI runs.</li>
+ * </ul>
+ */
+@Aspect
+@Component
+public class QueryBudgetGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetGuard.class);
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    private final Mode mode;
+    private final int perRequestBudget;
+
+    public QueryBudgetGuard(@Value("${sql.budget.mode:off}") String mode,
+                            @Value("${sql.budget.per-request:50}") int perRequestBudget) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.perRequestBudget = Math.max(0, perRequestBudget);
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    public int getPerRequestBudget() {
+        return perRequestBudget;
+    }
+
+    /**
+     * Run {@code work} against a budget of {@code budget} statements, named {@code name} in reports.
+     */
+    public <T> T run(String name, int budget, Callable<T> work) throws Exception {
+        if (!isEnabled()) {
+            return work.call();
+        }
+        SqlStatementCounter.Watch watch = SqlStatementCounter.watch(budget);
+        try {
+            T result = work.call();
+            check(name, watch);
+            return result;
+        } finally {
+            watch.close();
+        }
+    }
+
+    // Controller methods are covered per request by the interceptor, serialization included
+    @Around("(@within(com.speechtherapy.config.QueryBudget) || @annotation(com.speechtherapy.config.QueryBudget))"
+        + " && !@within(org.springframework.web.bind.annotation.RestController)")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!isEnabled()) {
+            return joinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), QueryBudget.class);
+        }
+        SqlStatementCounter.Watch watch = SqlStatementCounter.watch(budget.value());
+        try {
+            Object result = joinPoint.proceed();
+            check(signature.getDeclaringType().getSimpleName() + "." + signature.getName(), watch);
+            return result;
+        } finally {
+            watch.close();
+        }
+    }
+
+    /**
+     * Report {@code watch} if it went over budget. Only the unit of work's normal
+     * completion is checked; an exception already on its way out takes precedence.
+     */
+    void check(String name, SqlStatementCounter.Watch watch) {
+        Throwable overrun = watch.overrun();
+        if (overrun == null) {
+            return;
+        }
+        String message = String.format("%s ran %d SQL statements, over its budget of %d",
+            name, watch.statements(), watch.budget());
+        if (mode == Mode.FAIL) {
+            throw new QueryBudgetExceededException(message, overrun);
+        }
+        log.warn(message, overrun);
+    }
+
+    /**
+     * A unit of work ran more SQL statements than its budget allows.
+     */
+    public static class QueryBudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public QueryBudgetExceededException(String message, Throwable overrun) {
+            super(message, overrun);
+        }
+    }
+}
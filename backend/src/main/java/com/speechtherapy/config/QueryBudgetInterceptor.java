@@ -0,0 +1,64 @@
+package com.speechtherapy.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Holds each API request to a SQL statement budget: the handler method's
+ * {@link QueryBudget} if it has one, {@code sql.budget.per-request} otherwise. The
+ * check runs after the handler has returned and its response body has been written,
+ * so lazy loading during serialization counts against the request.
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String WATCH_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".watch";
+
+    private final QueryBudgetGuard guard;
+
+    public QueryBudgetInterceptor(QueryBudgetGuard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (guard.isEnabled()) {
+            QueryBudget budget = handler instanceof HandlerMethod method ? method.getMethodAnnotation(QueryBudget.class) : null;
+            request.setAttribute(WATCH_ATTRIBUTE,
+                SqlStatementCounter.watch(budget != null ? budget.value() : guard.getPerRequestBudget()));
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (request.getAttribute(WATCH_ATTRIBUTE) instanceof SqlStatementCounter.Watch watch) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            guard.check(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()), watch);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        close(request);
+    }
+
+    // Async handlers finish on another thread; only this dispatch's statements are counted
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        close(request);
+    }
+
+    private static void close(HttpServletRequest request) {
+        if (request.getAttribute(WATCH_ATTRIBUTE) instanceof SqlStatementCounter.Watch watch) {
+            request.removeAttribute(WATCH_ATTRIBUTE);
+            watch.close();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.speechtherapy.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Running count of the SQL statements each thread has sent to the database, fed by
+ * {@link CountingDataSource}. The count only ever grows; callers take a reading
+ * before and after a unit of work and subtract, so measurements nest freely.
+ *
+ * <p>A {@link Watch} additionally remembers the stack of the first statement that
+ * takes a unit of work over its budget, which is where a query loop shows itself.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Statements executed on the current thread so far.
+     */
+    public static long current() {
+        return STATE.get().count;
+    }
+
+    /**
+     * Start watching the current thread for more than {@code budget} further
+     * statements. Close the watch on the same thread when the unit of work ends.
+     */
+    public static Watch watch(long budget) {
+        State state = STATE.get();
+        Watch watch = new Watch(state, budget);
+        state.watches.add(watch);
+        state.nextLimit = Math.min(state.nextLimit, watch.limit);
+        return watch;
+    }
+
+    static void increment() {
+        State state = STATE.get();
+        state.count++;
+        if (state.count > state.nextLimit) {
+            state.recordOverrun();
+        }
+    }
+
+    private static final class State {
+        private long count;
+        // Lowest limit among the watches that have not overrun yet
+        private long nextLimit = Long.MAX_VALUE;
+        private final List<Watch> watches = new ArrayList<>(2);
+
+        private void recordOverrun() {
+            long next = Long.MAX_VALUE;
+            for (Watch watch : watches) {
+                if (watch.overrun == null && count > watch.limit) {
+                    watch.overrun = new Throwable("SQL statement " + (count - watch.start)
+                        + " exceeds the budget of " + watch.budget);
+                    watch.overrun.setStackTrace(callerFrames(watch.overrun.getStackTrace()));
+                } else if (watch.overrun == null) {
+                    next = Math.min(next, watch.limit);
+                }
+            }
+            nextLimit = next;
+        }
+
+        // Drop the counting frames so the stack starts at the JDBC call
+        private static StackTraceElement[] callerFrames(StackTraceElement[] frames) {
+            int first = 0;
+            while (first < frames.length - 1 && isCountingFrame(frames[first])) {
+                first++;
+            }
+            return Arrays.copyOfRange(frames, first, frames.length);
+        }
+
+        private static boolean isCountingFrame(StackTraceElement frame) {
+            return frame.getClassName().startsWith(SqlStatementCounter.class.getName())
+                || frame.getClassName().startsWith(CountingDataSource.class.getName());
+        }
+
+        private void remove(Watch closed) {
+            watches.remove(closed);
+            long next = Long.MAX_VALUE;
+            for (Watch watch : watches) {
+                if (watch.overrun == null) {
+                    next = Math.min(next, watch.limit);
+                }
+            }
+            nextLimit = next;
+        }
+    }
+
+    /**
+     * Statements run since a watch started, and the stack of the first one over budget.
+     */
+    public static final class Watch implements AutoCloseable {
+        private final State state;
+        private final long start;
+        private final long budget;
+        private final long limit;
+        private Throwable overrun;
+
+        private Watch(State state, long budget) {
+            this.state = state;
+            this.start = state.count;
+            this.budget = budget;
+            this.limit = budget >= Long.MAX_VALUE - start ? Long.MAX_VALUE : start + budget;
+        }
+
+        public long budget() {
+            return budget;
+        }
+
+        public long statements() {
+            return state.count - start;
+        }
+
+        /**
+         * Where the first statement over budget was issued, or null if it hasn't been exceeded.
+         */
+        public Throwable overrun() {
+            return overrun;
+        }
+
+        @Override
+        public void close() {
+            state.remove(this);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.speechtherapy.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Makes sure the one-row-per-day key on {@code user_progress} and the one-plan-per-week
+ * key on {@code weekly_plans} exist. Concurrent first writes of a day or week rely on
+ * them to fail instead of inserting a second row, but Hibernate's schema update only
+ * logs an ALTER that fails because older data already has duplicates.
+ *
+ * <p>Runs at startup after the schema update and before any request is served. When a
+ * key is missing, duplicate rows are merged into the oldest one (counters summed) and
+ * the key is added; if it still cannot be added, startup fails.
+ */
+@Component
+public class UniqueKeyMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueKeyMigration.class);
+
+    // Legacy rows without a score count stand for exercises_completed scores at the stored average
+    private static final String PROGRESS_DUPLICATES =
+        "SELECT user_id, practice_date, MIN(id) AS keep_id, " +
+        "COALESCE(SUM(total_practice_time), 0) AS total_practice_time, " +
+        "COALESCE(SUM(exercises_completed), 0) AS exercises_completed, " +
+        "COALESCE(SUM(CASE WHEN COALESCE(score_count, 0) = 0 " +
+        "THEN COALESCE(average_score, 0) * COALESCE(exercises_completed, 0) ELSE score_sum END), 0) AS score_sum, " +
+        "COALESCE(SUM(CASE WHEN COALESCE(score_count, 0) = 0 " +
+        "THEN COALESCE(exercises_completed, 0) ELSE score_count END), 0) AS score_count, " +
+        "COALESCE(SUM(phoneme_exercises), 0) AS phoneme_exercises, " +
+        "COALESCE(SUM(word_exercises), 0) AS word_exercises, " +
+        "COALESCE(SUM(sentence_exercises), 0) AS sentence_exercises, " +
+        "COALESCE(SUM(conversation_exercises), 0) AS conversation_exercises, " +
+        "COALESCE(SUM(points_earned), 0) AS points_earned, " +
+        "MAX(CASE WHEN goals_met = true THEN 1 ELSE 0 END) AS goals_met " +
+        "FROM user_progress GROUP BY user_id, practice_date HAVING COUNT(*) > 1";
+    private static final String PROGRESS_MERGE =
+        "UPDATE user_progress SET total_practice_time = ?, exercises_completed = ?, score_sum = ?, score_count = ?, " +
+        "average_score = ?, phoneme_exercises = ?, word_exercises = ?, sentence_exercises = ?, " +
+        "conversation_exercises = ?, points_earned = ?, goals_met = ?, updated_at = ? WHERE id = ?";
+    private static final String PROGRESS_DELETE =
+        "DELETE FROM user_progress WHERE user_id = ? AND practice_date = ? AND id <> ?";
+
+    private static final String PLAN_DUPLICATES =
+        "SELECT user_id, week_start, MIN(id) AS keep_id, " +
+        "COALESCE(SUM(total_minutes_completed), 0) AS total_minutes_completed, " +
+        "COALESCE(SUM(body_exercises_completed), 0) AS body_exercises_completed, " +
+        "COALESCE(SUM(speech_exercises_completed), 0) AS speech_exercises_completed, " +
+        "COALESCE(SUM(score_sum), 0) AS score_sum, COALESCE(SUM(score_count), 0) AS score_count, " +
+        "MAX(CASE WHEN is_completed = true THEN 1 ELSE 0 END) AS is_completed " +
+        "FROM weekly_plans GROUP BY user_id, week_start HAVING COUNT(*) > 1";
+    private static final String PLAN_MERGE =
+        "UPDATE weekly_plans SET total_minutes_completed = ?, body_exercises_completed = ?, " +
+        "speech_exercises_completed = ?, score_sum = ?, score_count = ?, is_completed = ?, updated_at = ? WHERE id = ?";
+    private static final String PLAN_DELETE =
+        "DELETE FROM weekly_plans WHERE user_id = ? AND week_start = ? AND id <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Taking the EntityManagerFactory makes this run after Hibernate has updated the schema
+    public UniqueKeyMigration(EntityManagerFactory entityManagerFactory,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void ensureUniqueKeys() {
+        ensureUniqueKey("user_progress", "uk_user_progress_user_date", List.of("user_id", "practice_date"),
+            this::mergeProgressDuplicates);
+        ensureUniqueKey("weekly_plans", "uk_weekly_plans_user_week", List.of("user_id", "week_start"),
+            this::mergePlanDuplicates);
+    }
+
+    private void ensureUniqueKey(String table, String keyName, List<String> columns, Runnable mergeDuplicates) {
+        // A second attempt covers rows duplicated by another instance between the merge and the ALTER
+        for (int attempt = 0; attempt < 2 && !hasUniqueKey(table, columns); attempt++) {
+            transactionTemplate.executeWithoutResult(status -> mergeDuplicates.run());
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + keyName
+                    + " UNIQUE (" + String.join(", ", columns) + ")");
+                log.info("Added unique key {} on {}", keyName, table);
+            } catch (DataAccessException e) {
+                log.warn("Could not add unique key {} on {}", keyName, table, e);
+            }
+        }
+        if (!hasUniqueKey(table, columns)) {
+            throw new IllegalStateException("Unique key " + keyName + " on " + table + " (" + String.join(", ", columns)
+                + ") is missing and could not be added");
+        }
+    }
+
+    boolean hasUniqueKey(String table, List<String> columns) {
+        Set<String> wanted = new HashSet<>(columns);
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            Map<String, Set<String>> uniqueIndexes = new HashMap<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    tableName, true, false)) {
+                while (indexes.next()) {
+                    String index = indexes.getString("INDEX_NAME");
+                    String column = indexes.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        uniqueIndexes.computeIfAbsent(index, name -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return uniqueIndexes.containsValue(wanted);
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    private void mergeProgressDuplicates() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map<String, Object>> groups = jdbcTemplate.queryForList(PROGRESS_DUPLICATES);
+        for (Map<String, Object> group : groups) {
+            double scoreSum = number(group, "score_sum").doubleValue();
+            long scoreCount = number(group, "score_count").longValue();
+            jdbcTemplate.update(PROGRESS_MERGE, number(group, "total_practice_time").intValue(),
+                number(group, "exercises_completed").intValue(), scoreSum, scoreCount,
+                scoreCount > 0 ? scoreSum / scoreCount : 0.0,
+                number(group, "phoneme_exercises").intValue(), number(group, "word_exercises").intValue(),
+                number(group, "sentence_exercises").intValue(), number(group, "conversation_exercises").intValue(),
+                number(group, "points_earned").intValue(), number(group, "goals_met").intValue() > 0,
+                now, group.get("keep_id"));
+            jdbcTemplate.update(PROGRESS_DELETE, group.get("user_id"), group.get("practice_date"), group.get("keep_id"));
+        }
+        if (!groups.isEmpty()) {
+            log.warn("Merged duplicate user_progress rows for {} user days", groups.size());
+        }
+    }
+
+    private void mergePlanDuplicates() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map<String, Object>> groups = jdbcTemplate.queryForList(PLAN_DUPLICATES);
+        for (Map<String, Object> group : groups) {
+            jdbcTemplate.update(PLAN_MERGE, number(group, "total_minutes_completed").intValue(),
+                number(group, "body_exercises_completed").intValue(),
+                number(group, "speech_exercises_completed").intValue(),
+                number(group, "score_sum").doubleValue(), number(group, "score_count").longValue(),
+                number(group, "is_completed").intValue() > 0, now, group.get("keep_id"));
+            jdbcTemplate.update(PLAN_DELETE, group.get("user_id"), group.get("week_start"), group.get("keep_id"));
+        }
+        if (!groups.isEmpty()) {
+            log.warn("Merged duplicate weekly_plans rows for {} user weeks", groups.size());
+        }
+    }
+
+    private static Number number(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        return value instanceof Number number ? number : 0;
+    }
+}
@@ -2,10 +2,17 @@ package com.speechtherapy.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetGuard queryBudgetGuard;
+
+    public WebConfig(QueryBudgetGuard queryBudgetGuard) {
+        this.queryBudgetGuard = queryBudgetGuard;
+    }
     
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -15,4 +22,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(false);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor(queryBudgetGuard)).addPathPatterns("/api/**");
+    }
 }
\ No newline at end of file
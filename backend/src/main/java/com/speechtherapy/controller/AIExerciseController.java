@@ -1,11 +1,18 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.dto.AIExerciseEntry;
+import com.speechtherapy.dto.CursorPage;
+import com.speechtherapy.dto.FluencyScoreEntry;
+import com.speechtherapy.dto.FluencySummary;
 import com.speechtherapy.model.*;
 import com.speechtherapy.service.AIExerciseService;
+import com.speechtherapy.service.HistoryService;
 import com.speechtherapy.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -33,6 +40,9 @@ public class AIExerciseController {
     
     @Autowired
     private UserRepository userRepository;
+    
+    @Autowired
+    private HistoryService historyService;
 
     // Generate a personalized exercise for a user
     @PostMapping("/generate-exercise/{userId}")
@@ -84,33 +94,54 @@ public class AIExerciseController {
     }
 
     // Get AI-generated exercises for a user
+    // Newest first, one page at a time; pass the returned nextCursor to get the next page
     @GetMapping("/exercises/{userId}")
-    public ResponseEntity<Map<String, Object>> getUserExercises(@PathVariable Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
+    public ResponseEntity<Map<String, Object>> getUserExercises(@PathVariable Long userId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit) {
+        if (!userRepository.existsById(userId)) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "User not found");
             return ResponseEntity.badRequest().body(error);
         }
         
-        List<AIExercise> exercises = aiExerciseRepository.findByUserOrderByCreatedAtDesc(userOpt.get());
+        CursorPage<AIExerciseEntry> page;
+        try {
+            page = historyService.aiExercises(userId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
         Map<String, Object> response = new HashMap<>();
-        response.put("exercises", exercises);
-        response.put("count", exercises.size());
+        response.put("exercises", page.items());
+        response.put("count", page.items().size());
+        response.put("nextCursor", page.nextCursor());
+        response.put("hasMore", page.hasMore());
         return ResponseEntity.ok(response);
     }
 
+    // All of a user's AI exercises as NDJSON
+    @GetMapping(value = "/exercises/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserExercises(@PathVariable Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(historyService.streamAiExercises(userId));
+    }
+
     // Get active (unexpired) AI exercises
     @GetMapping("/exercises/{userId}/active")
     public ResponseEntity<Map<String, Object>> getActiveExercises(@PathVariable Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "User not found");
             return ResponseEntity.badRequest().body(error);
         }
         
-        List<AIExercise> activeExercises = aiExerciseRepository.findActiveExercisesByUser(userOpt.get(), LocalDateTime.now());
+        List<AIExerciseEntry> activeExercises = aiExerciseRepository.findActiveEntries(userId, LocalDateTime.now());
         Map<String, Object> response = new HashMap<>();
         response.put("activeExercises", activeExercises);
         response.put("count", activeExercises.size());
@@ -186,32 +217,55 @@ public class AIExerciseController {
     }
 
     // Get fluency analysis for a user
+    // Trends over all sessions, computed in the database, plus one page of the sessions themselves
     @GetMapping("/fluency-analysis/{userId}")
-    public ResponseEntity<Map<String, Object>> getFluencyAnalysis(@PathVariable Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
+    public ResponseEntity<Map<String, Object>> getFluencyAnalysis(@PathVariable Long userId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
+        if (!userRepository.existsById(userId)) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "User not found");
             return ResponseEntity.badRequest().body(error);
         }
         
-        List<FluencyScore> recentScores = fluencyScoreRepository.findByUserOrderBySessionDateDesc(userOpt.get());
+        CursorPage<FluencyScoreEntry> page;
+        try {
+            page = historyService.fluencyScores(userId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
         
-        if (recentScores.isEmpty()) {
+        FluencySummary summary = fluencyScoreRepository.summarizeByUserId(userId);
+        if (summary.sessions() == 0) {
             Map<String, Object> response = new HashMap<>();
             response.put("message", "No fluency data available yet");
-            response.put("scores", recentScores);
+            response.put("scores", page.items());
             return ResponseEntity.ok(response);
         }
         
         // Calculate trends and insights
-        Map<String, Object> analysis = analyzeFluencyTrends(recentScores);
-        analysis.put("recentScores", recentScores);
-        analysis.put("totalSessions", recentScores.size());
+        Map<String, Object> analysis = analyzeFluencyTrends(summary);
+        analysis.put("recentScores", page.items());
+        analysis.put("nextCursor", page.nextCursor());
+        analysis.put("hasMore", page.hasMore());
+        analysis.put("totalSessions", summary.sessions());
         
         return ResponseEntity.ok(analysis);
     }
 
+    // Every fluency session for a user as NDJSON
+    @GetMapping(value = "/fluency-analysis/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFluencyScores(@PathVariable Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(historyService.streamFluencyScores(userId));
+    }
+
     // Get fluency scores for a specific date range
     @GetMapping("/fluency-analysis/{userId}/range")
     public ResponseEntity<Map<String, Object>> getFluencyAnalysisRange(
@@ -219,8 +273,7 @@ public class AIExerciseController {
             @RequestParam String startDate,
             @RequestParam String endDate) {
         
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "User not found");
             return ResponseEntity.badRequest().body(error);
@@ -230,8 +283,7 @@ public class AIExerciseController {
             LocalDateTime start = LocalDateTime.parse(startDate);
             LocalDateTime end = LocalDateTime.parse(endDate);
             
-            List<FluencyScore> scores = fluencyScoreRepository.findByUserAndSessionDateBetweenOrderBySessionDateDesc(
-                userOpt.get(), start, end);
+            List<FluencyScoreEntry> scores = fluencyScoreRepository.findEntriesBySessionDateBetween(userId, start, end);
             
             Map<String, Object> response = new HashMap<>();
             response.put("scores", scores);
@@ -246,33 +298,14 @@ public class AIExerciseController {
         }
     }
 
-    private Map<String, Object> analyzeFluencyTrends(List<FluencyScore> scores) {
+    private Map<String, Object> analyzeFluencyTrends(FluencySummary summary) {
         Map<String, Object> analysis = new HashMap<>();
         
-        if (scores.isEmpty()) {
-            return analysis;
-        }
-        
-        // Calculate averages
-        double avgPronunciation = scores.stream()
-            .mapToInt(fs -> fs.getPronunciationScore() != null ? fs.getPronunciationScore() : 0)
-            .average().orElse(0.0);
-        
-        double avgRhythm = scores.stream()
-            .mapToInt(fs -> fs.getRhythmScore() != null ? fs.getRhythmScore() : 0)
-            .average().orElse(0.0);
-        
-        double avgPace = scores.stream()
-            .mapToInt(fs -> fs.getPaceScore() != null ? fs.getPaceScore() : 0)
-            .average().orElse(0.0);
-        
-        double avgExpression = scores.stream()
-            .mapToInt(fs -> fs.getExpressionScore() != null ? fs.getExpressionScore() : 0)
-            .average().orElse(0.0);
-        
-        double avgOverall = scores.stream()
-            .mapToInt(fs -> fs.getOverallFluencyScore() != null ? fs.getOverallFluencyScore() : 0)
-            .average().orElse(0.0);
+        double avgPronunciation = summary.pronunciation();
+        double avgRhythm = summary.rhythm();
+        double avgPace = summary.pace();
+        double avgExpression = summary.expression();
+        double avgOverall = summary.overall();
         
         // Identify trends
         String pronunciationTrend = avgPronunciation > 85 ? "excellent" : avgPronunciation > 75 ? "good" : "needs improvement";
@@ -281,8 +314,8 @@ public class AIExerciseController {
         String expressionTrend = avgExpression > 85 ? "excellent" : avgExpression > 75 ? "good" : "needs improvement";
         
         // Check for specific issues
-        long stutterCount = scores.stream().filter(fs -> Boolean.TRUE.equals(fs.getStutterDetected())).count();
-        long nervousCount = scores.stream().filter(fs -> "nervous".equals(fs.getEmotionDetected())).count();
+        long stutterCount = summary.stutterSessions();
+        long nervousCount = summary.nervousSessions();
         
         analysis.put("averages", Map.of(
             "pronunciation", Math.round(avgPronunciation * 100.0) / 100.0,
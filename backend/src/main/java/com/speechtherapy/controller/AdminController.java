@@ -1,9 +1,9 @@
 package com.speechtherapy.controller;
 
-import com.speechtherapy.model.User;
-import com.speechtherapy.model.UserProgress;
-import com.speechtherapy.repository.UserProgressRepository;
-import com.speechtherapy.repository.UserRepository;
+import com.speechtherapy.dto.MaintenanceResult;
+import com.speechtherapy.service.BulkMaintenanceService;
+import com.speechtherapy.service.UserGameStatsService;
+import com.speechtherapy.service.WeeklyRolloverJob;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,7 +11,6 @@ import org.springframework.web.bind.annotation.*;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,44 +19,38 @@ import java.util.Map;
 public class AdminController {
 
     @Autowired
-    private UserRepository userRepository;
+    private BulkMaintenanceService bulkMaintenanceService;
 
     @Autowired
-    private UserProgressRepository userProgressRepository;
+    private UserGameStatsService userGameStatsService;
+
+    @Autowired
+    private WeeklyRolloverJob weeklyRolloverJob;
 
 
 
     // Manually reset today's progress (sets today's totals to 0 for all users)
     @PostMapping("/reset/daily")
     public ResponseEntity<Map<String, Object>> resetDaily() {
-        LocalDate today = LocalDate.now();
-        List<User> users = userRepository.findAll();
-        int affected = 0;
-        for (User user : users) {
-            userProgressRepository.findByUserAndPracticeDate(user, today).ifPresent(progress -> {
-                progress.setTotalPracticeTime(0);
-                progress.setExercisesCompleted(0);
-                progress.setAverageScore(0.0);
-                progress.setPointsEarned(0);
-                progress.setGoalsMet(false);
-                userProgressRepository.save(progress);
-            });
-            affected++;
-        }
+        MaintenanceResult result = bulkMaintenanceService.resetDailyProgress(LocalDate.now());
         Map<String, Object> resp = new HashMap<>();
         resp.put("status", "ok");
-        resp.put("usersProcessed", affected);
+        resp.put("rowsAffected", result.rowsAffected());
+        resp.put("chunks", result.chunks());
+        resp.put("durationMs", result.durationMs());
         return ResponseEntity.ok(resp);
     }
 
     // Manually reset current week's minutes to 0
     @PostMapping("/reset/weekly")
     public ResponseEntity<Map<String, Object>> resetWeekly() {
-        // Weekly progress reset is now handled by WeeklyPlanService
+        // Runs in the background on the weekly rollover job's thread
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        weeklyRolloverJob.submit(weekStart, true);
         Map<String, Object> resp = new HashMap<>();
-        resp.put("status", "ok");
-        resp.put("message", "Weekly progress reset is now handled by WeeklyPlanService");
-        return ResponseEntity.ok(resp);
+        resp.put("status", "started");
+        resp.put("weekStart", weekStart);
+        return ResponseEntity.accepted().body(resp);
     }
 
     // Recompute weekly streak based on last week's completion
@@ -69,6 +62,14 @@ public class AdminController {
         resp.put("message", "Weekly streak computation is now handled by WeeklyPlanService");
         return ResponseEntity.ok(resp);
     }
-}
-
 
+    // Rebuild every user's game stats aggregate from the raw scores
+    @PostMapping("/reconcile/game-stats")
+    public ResponseEntity<Map<String, Object>> reconcileGameStats() {
+        int reconciled = userGameStatsService.reconcileAll();
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("status", "ok");
+        resp.put("usersReconciled", reconciled);
+        return ResponseEntity.ok(resp);
+    }
+}
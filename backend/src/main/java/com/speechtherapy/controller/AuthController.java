@@ -1,5 +1,7 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.config.QueryBudget;
+import com.speechtherapy.dto.UserSummary;
 import com.speechtherapy.model.User;
 import com.speechtherapy.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,8 @@ public class AuthController {
     @Autowired
     private UserService userService;
     
+    // One indexed lookup by email; the response carries the profile columns only
+    @QueryBudget(1)
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginRequest) {
         try {
@@ -43,7 +47,7 @@ public class AuthController {
                 Map<String, Object> response = new HashMap<>();
                 response.put("message", "Login successful");
                 response.put("token", "user-token-" + System.currentTimeMillis());
-                response.put("user", user);
+                response.put("user", UserSummary.of(user));
                 return ResponseEntity.ok(response);
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -92,7 +96,7 @@ public class AuthController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User created successfully");
-            response.put("user", savedUser);
+            response.put("user", UserSummary.of(savedUser));
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -1,10 +1,15 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.dto.CompletedExerciseEntry;
+import com.speechtherapy.dto.CursorPage;
 import com.speechtherapy.model.CompletedExercise;
 import com.speechtherapy.service.CompletedExerciseService;
+import com.speechtherapy.service.HistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -18,6 +23,9 @@ public class CompletedExerciseController {
     @Autowired
     private CompletedExerciseService completedExerciseService;
     
+    @Autowired
+    private HistoryService historyService;
+    
     /**
      * Mark an exercise as completed
      */
@@ -37,7 +45,8 @@ public class CompletedExerciseController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Exercise marked as completed successfully");
-            response.put("completedExercise", completedExercise);
+            // A DTO rather than the entity, whose lazy user would be serialized along with it
+            response.put("completedExercise", CompletedExerciseEntry.of(completedExercise));
             response.put("timestamp", completedExercise.getCompletedAt());
             
             return ResponseEntity.ok(response);
@@ -66,13 +75,23 @@ public class CompletedExerciseController {
     }
     
     /**
-     * Get all completed exercises for a user
+     * Get completion statistics and one page of a user's completed exercises, newest first
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getAllCompletedExercises(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getAllCompletedExercises(@PathVariable Long userId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit) {
         try {
             Map<String, Object> stats = completedExerciseService.getExerciseStatistics(userId);
+            CursorPage<CompletedExerciseEntry> page = historyService.completedExercises(userId, cursor, limit);
+            stats.put("exercises", page.items());
+            stats.put("nextCursor", page.nextCursor());
+            stats.put("hasMore", page.hasMore());
             return ResponseEntity.ok(stats);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to get completed exercises: " + e.getMessage());
@@ -80,6 +99,16 @@ public class CompletedExerciseController {
         }
     }
     
+    /**
+     * Stream every completed exercise for a user as NDJSON
+     */
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCompletedExercises(@PathVariable Long userId) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(historyService.streamCompletedExercises(userId));
+    }
+    
     /**
      * Get completed exercises for a user within a date range
      */
@@ -1,5 +1,6 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.dto.CursorPage;
 import com.speechtherapy.model.DatabaseExercise;
 import com.speechtherapy.service.DatabaseExerciseService;
 import com.speechtherapy.service.ExerciseMappingService;
@@ -44,17 +45,20 @@ public class DatabaseExerciseController {
      * Get all exercises from the database
      */
     @GetMapping("/all")
-    public ResponseEntity<Map<String, Object>> getAllExercises() {
+    public ResponseEntity<Map<String, Object>> getAllExercises(@RequestParam(required = false) String pageToken,
+                                                               @RequestParam(required = false) Integer limit) {
         try {
             List<DatabaseExercise> exercises = exerciseMappingService.getAllExercises();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("total_exercises", exercises.size());
-            response.put("exercises", exercises);
+            putExercises(response, exercises, pageToken, limit);
             response.put("message", "Successfully fetched " + exercises.size() + " exercises from database");
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return invalidPageToken(e);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -67,17 +71,20 @@ public class DatabaseExerciseController {
      * Get exercises by type
      */
     @GetMapping("/type/{exerciseType}")
-    public ResponseEntity<Map<String, Object>> getExercisesByType(@PathVariable String exerciseType) {
+    public ResponseEntity<Map<String, Object>> getExercisesByType(@PathVariable String exerciseType,
+                                                                  @RequestParam(required = false) String pageToken,
+                                                                  @RequestParam(required = false) Integer limit) {
         try {
             List<DatabaseExercise> exercises = exerciseMappingService.getExercisesByType(exerciseType);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("exercise_type", exerciseType);
-            response.put("count", exercises.size());
-            response.put("exercises", exercises);
+            putExercises(response, exercises, pageToken, limit);
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return invalidPageToken(e);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -90,17 +97,20 @@ public class DatabaseExerciseController {
      * Get exercises by difficulty level
      */
     @GetMapping("/difficulty/{difficultyLevel}")
-    public ResponseEntity<Map<String, Object>> getExercisesByDifficulty(@PathVariable String difficultyLevel) {
+    public ResponseEntity<Map<String, Object>> getExercisesByDifficulty(@PathVariable String difficultyLevel,
+                                                                        @RequestParam(required = false) String pageToken,
+                                                                        @RequestParam(required = false) Integer limit) {
         try {
             List<DatabaseExercise> exercises = exerciseMappingService.getExercisesByDifficulty(difficultyLevel);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("difficulty_level", difficultyLevel);
-            response.put("count", exercises.size());
-            response.put("exercises", exercises);
+            putExercises(response, exercises, pageToken, limit);
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return invalidPageToken(e);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -113,17 +123,20 @@ public class DatabaseExerciseController {
      * Get exercises by category
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<Map<String, Object>> getExercisesByCategory(@PathVariable String category) {
+    public ResponseEntity<Map<String, Object>> getExercisesByCategory(@PathVariable String category,
+                                                                      @RequestParam(required = false) String pageToken,
+                                                                      @RequestParam(required = false) Integer limit) {
         try {
             List<DatabaseExercise> exercises = exerciseMappingService.getExercisesByCategory(category);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("category", category);
-            response.put("count", exercises.size());
-            response.put("exercises", exercises);
+            putExercises(response, exercises, pageToken, limit);
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return invalidPageToken(e);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -132,6 +145,35 @@ public class DatabaseExerciseController {
         }
     }
     
+    /**
+     * Get one page of exercises in id order. Pass the returned nextPageToken to
+     * continue; type, difficulty and category narrow the listing.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getExercisesPage(@RequestParam(required = false) String pageToken,
+                                                                @RequestParam(required = false) Integer size,
+                                                                @RequestParam(required = false) String type,
+                                                                @RequestParam(required = false) String difficulty,
+                                                                @RequestParam(required = false) String category) {
+        try {
+            CursorPage<DatabaseExercise> page =
+                exerciseMappingService.getExercisesPage(type, difficulty, category, pageToken, size);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            putPage(response, page);
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return invalidPageToken(e);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "Error fetching exercise page: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+    
     /**
      * Search exercises by name or description
      */
@@ -183,12 +225,13 @@ public class DatabaseExerciseController {
     }
     
     /**
-     * Get exercises for user level
+     * Get a random set of exercises for user level; pass a seed for a repeatable set
      */
     @GetMapping("/user-level/{userLevel}")
-    public ResponseEntity<Map<String, Object>> getExercisesForUserLevel(@PathVariable String userLevel) {
+    public ResponseEntity<Map<String, Object>> getExercisesForUserLevel(@PathVariable String userLevel,
+                                                                        @RequestParam(required = false) Long seed) {
         try {
-            List<DatabaseExercise> exercises = exerciseMappingService.getRecommendedExercises(userLevel, 10);
+            List<DatabaseExercise> exercises = exerciseMappingService.getRecommendedExercises(userLevel, 10, seed);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -209,72 +252,81 @@ public class DatabaseExerciseController {
      * Get beginner exercises
      */
     @GetMapping("/beginner")
-    public ResponseEntity<Map<String, Object>> getBeginnerExercises() {
-        return getExercisesByDifficulty("beginner");
+    public ResponseEntity<Map<String, Object>> getBeginnerExercises(@RequestParam(required = false) String pageToken,
+                                                                    @RequestParam(required = false) Integer limit) {
+        return getExercisesByDifficulty("beginner", pageToken, limit);
     }
     
     /**
      * Get intermediate exercises
      */
     @GetMapping("/intermediate")
-    public ResponseEntity<Map<String, Object>> getIntermediateExercises() {
-        return getExercisesByDifficulty("intermediate");
+    public ResponseEntity<Map<String, Object>> getIntermediateExercises(@RequestParam(required = false) String pageToken,
+                                                                        @RequestParam(required = false) Integer limit) {
+        return getExercisesByDifficulty("intermediate", pageToken, limit);
     }
     
     /**
      * Get advanced exercises
      */
     @GetMapping("/advanced")
-    public ResponseEntity<Map<String, Object>> getAdvancedExercises() {
-        return getExercisesByDifficulty("advanced");
+    public ResponseEntity<Map<String, Object>> getAdvancedExercises(@RequestParam(required = false) String pageToken,
+                                                                    @RequestParam(required = false) Integer limit) {
+        return getExercisesByDifficulty("advanced", pageToken, limit);
     }
     
     /**
      * Get breathing exercises
      */
     @GetMapping("/type/breathing")
-    public ResponseEntity<Map<String, Object>> getBreathingExercises() {
-        return getExercisesByType("breathing");
+    public ResponseEntity<Map<String, Object>> getBreathingExercises(@RequestParam(required = false) String pageToken,
+                                                                     @RequestParam(required = false) Integer limit) {
+        return getExercisesByType("breathing", pageToken, limit);
     }
     
     /**
      * Get facial exercises
      */
     @GetMapping("/type/facial")
-    public ResponseEntity<Map<String, Object>> getFacialExercises() {
-        return getExercisesByType("facial");
+    public ResponseEntity<Map<String, Object>> getFacialExercises(@RequestParam(required = false) String pageToken,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return getExercisesByType("facial", pageToken, limit);
     }
     
     /**
      * Get jaw exercises
      */
     @GetMapping("/type/jaw")
-    public ResponseEntity<Map<String, Object>> getJawExercises() {
-        return getExercisesByType("jaw");
+    public ResponseEntity<Map<String, Object>> getJawExercises(@RequestParam(required = false) String pageToken,
+                                                               @RequestParam(required = false) Integer limit) {
+        return getExercisesByType("jaw", pageToken, limit);
     }
     
     /**
      * Get tongue exercises
      */
     @GetMapping("/type/tongue")
-    public ResponseEntity<Map<String, Object>> getTongueExercises() {
-        return getExercisesByType("tongue");
+    public ResponseEntity<Map<String, Object>> getTongueExercises(@RequestParam(required = false) String pageToken,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return getExercisesByType("tongue", pageToken, limit);
     }
     
     /**
      * Get vocal exercises
      */
     @GetMapping("/type/vocal")
-    public ResponseEntity<Map<String, Object>> getVocalExercises() {
-        return getExercisesByType("vocal");
+    public ResponseEntity<Map<String, Object>> getVocalExercises(@RequestParam(required = false) String pageToken,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return getExercisesByType("vocal", pageToken, limit);
     }
     
     /**
      * Get relaxation exercises
      */
     @GetMapping("/type/relaxation")
-    public ResponseEntity<Map<String, Object>> getRelaxationExercises() {
-        return getExercisesByType("relaxation");
+    public ResponseEntity<Map<String, Object>> getRelaxationExercises(@RequestParam(required = false) String pageToken,
+                                                                      @RequestParam(required = false) Integer limit) {
+        return getExercisesByType("relaxation", pageToken, limit);
     }
     
     /**
@@ -382,4 +434,29 @@ public class DatabaseExerciseController {
         
         return exercise;
     }
+    
+    // Listings return everything unless the client asks for a page with pageToken or limit
+    private void putExercises(Map<String, Object> response, List<DatabaseExercise> exercises,
+                              String pageToken, Integer limit) {
+        if (pageToken == null && limit == null) {
+            response.put("count", exercises.size());
+            response.put("exercises", exercises);
+        } else {
+            putPage(response, exerciseMappingService.page(exercises, pageToken, limit));
+        }
+    }
+    
+    private void putPage(Map<String, Object> response, CursorPage<DatabaseExercise> page) {
+        response.put("count", page.items().size());
+        response.put("exercises", page.items());
+        response.put("nextPageToken", page.nextCursor());
+        response.put("hasMore", page.hasMore());
+    }
+    
+    private ResponseEntity<Map<String, Object>> invalidPageToken(IllegalArgumentException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
 }
@@ -1,10 +1,15 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.dto.GameScoreEntry;
+import com.speechtherapy.dto.LeaderboardEntry;
 import com.speechtherapy.model.GameScore;
 import com.speechtherapy.service.GameScoreService;
+import com.speechtherapy.service.HistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -20,6 +25,9 @@ public class GameScoreController {
     @Autowired
     private GameScoreService gameScoreService;
     
+    @Autowired
+    private HistoryService historyService;
+    
     // Submit a new game score
     @PostMapping("/score")
     public ResponseEntity<?> submitScore(@RequestBody Map<String, Object> scoreData) {
@@ -88,11 +96,13 @@ public class GameScoreController {
     }
     
     // Get user scores
+    // Newest first, one page at a time; pass the returned nextCursor to get the next page
     @GetMapping("/user/{userId}/scores")
-    public ResponseEntity<?> getUserScores(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserScores(@PathVariable Long userId,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
         try {
-            List<GameScore> scores = gameScoreService.getUserScores(userId);
-            return ResponseEntity.ok(scores);
+            return ResponseEntity.ok(historyService.gameScores(userId, cursor, limit));
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -101,11 +111,19 @@ public class GameScoreController {
         }
     }
     
+    // The whole score history as NDJSON, for clients that send Accept: application/x-ndjson
+    @GetMapping(value = "/user/{userId}/scores", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserScores(@PathVariable Long userId) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(historyService.streamGameScores(userId));
+    }
+    
     // Get user scores for a specific game
     @GetMapping("/user/{userId}/game/{gameId}/scores")
     public ResponseEntity<?> getUserGameScores(@PathVariable Long userId, @PathVariable String gameId) {
         try {
-            List<GameScore> scores = gameScoreService.getUserGameScores(userId, gameId);
+            List<GameScoreEntry> scores = gameScoreService.getUserGameScores(userId, gameId);
             return ResponseEntity.ok(scores);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -139,7 +157,7 @@ public class GameScoreController {
     @GetMapping("/user/{userId}/recent")
     public ResponseEntity<?> getUserRecentScores(@PathVariable Long userId) {
         try {
-            List<GameScore> recentScores = gameScoreService.getUserRecentScores(userId);
+            List<GameScoreEntry> recentScores = gameScoreService.getUserRecentScores(userId);
             return ResponseEntity.ok(recentScores);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -180,9 +198,10 @@ public class GameScoreController {
     // Get leaderboard for a specific game
     @GetMapping("/leaderboard/{gameId}")
     public ResponseEntity<?> getGameLeaderboard(@PathVariable String gameId, 
-                                             @RequestParam(defaultValue = "10") int limit) {
+                                             @RequestParam(defaultValue = "10") int limit,
+                                             @RequestParam(defaultValue = "0") int page) {
         try {
-            List<GameScore> leaderboard = gameScoreService.getGameLeaderboard(gameId, limit);
+            List<LeaderboardEntry> leaderboard = gameScoreService.getGameLeaderboard(gameId, page, limit);
             return ResponseEntity.ok(leaderboard);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -194,9 +213,10 @@ public class GameScoreController {
     
     // Get overall leaderboard
     @GetMapping("/leaderboard")
-    public ResponseEntity<?> getOverallLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+    public ResponseEntity<?> getOverallLeaderboard(@RequestParam(defaultValue = "10") int limit,
+                                                   @RequestParam(defaultValue = "0") int page) {
         try {
-            List<GameScore> leaderboard = gameScoreService.getOverallLeaderboard(limit);
+            List<LeaderboardEntry> leaderboard = gameScoreService.getOverallLeaderboard(page, limit);
             return ResponseEntity.ok(leaderboard);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -210,7 +230,7 @@ public class GameScoreController {
     @GetMapping("/high-accuracy")
     public ResponseEntity<?> getHighAccuracyScores(@RequestParam(defaultValue = "80") int threshold) {
         try {
-            List<GameScore> highAccuracyScores = gameScoreService.getHighAccuracyScores(threshold);
+            List<GameScoreEntry> highAccuracyScores = gameScoreService.getHighAccuracyScores(threshold);
             return ResponseEntity.ok(highAccuracyScores);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -225,7 +245,7 @@ public class GameScoreController {
     public ResponseEntity<?> getUserHighAccuracyScores(@PathVariable Long userId, 
                                                     @RequestParam(defaultValue = "80") int threshold) {
         try {
-            List<GameScore> highAccuracyScores = gameScoreService.getUserHighAccuracyScores(userId, threshold);
+            List<GameScoreEntry> highAccuracyScores = gameScoreService.getUserHighAccuracyScores(userId, threshold);
             return ResponseEntity.ok(highAccuracyScores);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -244,7 +264,7 @@ public class GameScoreController {
             LocalDateTime start = LocalDateTime.parse(startDate, formatter);
             LocalDateTime end = LocalDateTime.parse(endDate, formatter);
             
-            List<GameScore> scores = gameScoreService.getScoresByDateRange(start, end);
+            List<GameScoreEntry> scores = gameScoreService.getScoresByDateRange(start, end);
             return ResponseEntity.ok(scores);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -264,7 +284,7 @@ public class GameScoreController {
             LocalDateTime start = LocalDateTime.parse(startDate, formatter);
             LocalDateTime end = LocalDateTime.parse(endDate, formatter);
             
-            List<GameScore> scores = gameScoreService.getUserScoresByDateRange(userId, start, end);
+            List<GameScoreEntry> scores = gameScoreService.getUserScoresByDateRange(userId, start, end);
             return ResponseEntity.ok(scores);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
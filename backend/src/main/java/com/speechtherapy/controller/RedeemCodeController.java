@@ -1,6 +1,6 @@
 package com.speechtherapy.controller;
 
-import com.speechtherapy.model.RedeemCode;
+import com.speechtherapy.dto.RedeemCodeEntry;
 import com.speechtherapy.repository.RedeemCodeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,8 +18,8 @@ public class RedeemCodeController {
     private RedeemCodeRepository redeemCodeRepository;
 
     @GetMapping("/{id}")
-    public ResponseEntity<RedeemCode> getById(@PathVariable Long id) {
-        return redeemCodeRepository.findById(id)
+    public ResponseEntity<RedeemCodeEntry> getById(@PathVariable Long id) {
+        return redeemCodeRepository.findEntryById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -1,14 +1,22 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.service.SpeechAnalysisJob;
+import com.speechtherapy.service.SpeechAnalysisJobService;
 import com.speechtherapy.service.SpeechAnalysisService;
 import com.speechtherapy.service.UserService;
 import com.speechtherapy.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/speech")
@@ -18,9 +26,15 @@ public class SpeechAnalysisController {
     @Autowired
     private SpeechAnalysisService speechAnalysisService;
     
+    @Autowired
+    private SpeechAnalysisJobService speechAnalysisJobService;
+    
     @Autowired
     private UserService userService;
     
+    @Value("${speech.jobs.sse-timeout-ms:120000}")
+    private long sseTimeoutMs;
+    
     @PostMapping("/analyze")
     public ResponseEntity<Map<String, Object>> analyzeAudio(
             @RequestParam("audio") MultipartFile audioFile,
@@ -54,6 +68,55 @@ public class SpeechAnalysisController {
         }
     }
     
+    @PostMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> submitAnalysisJob(
+            @RequestParam("audio") MultipartFile audioFile,
+            @RequestParam("exerciseType") String exerciseType,
+            @RequestParam("targetText") String targetText,
+            @RequestParam(value = "userId", defaultValue = "1") Long userId) {
+        
+        try {
+            User user = userService.getUserById(userId);
+            if (user == null) {
+                user = userService.createDefaultUser();
+            }
+            
+            SpeechAnalysisJob job = speechAnalysisJobService.submit(audioFile, exerciseType, targetText, user);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toMap());
+            
+        } catch (RejectedExecutionException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Analysis queue is full, please retry shortly");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to submit analysis: " + e.getMessage());
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getAnalysisJob(@PathVariable String jobId) {
+        Optional<SpeechAnalysisJob> job = speechAnalysisJobService.getJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "Job not found: " + jobId));
+        }
+        return ResponseEntity.ok(job.get().toMap());
+    }
+    
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAnalysisJob(@PathVariable String jobId) {
+        Optional<SpeechAnalysisJob> job = speechAnalysisJobService.getJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        job.get().subscribe(emitter);
+        return ResponseEntity.ok(emitter);
+    }
+    
     @PostMapping("/quick-analyze")
     public ResponseEntity<Map<String, Object>> quickAnalyze(
             @RequestParam("exerciseType") String exerciseType,
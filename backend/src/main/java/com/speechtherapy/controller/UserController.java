@@ -1,10 +1,12 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.dto.UserSummary;
 import com.speechtherapy.model.User;
-import com.speechtherapy.model.UserProgress;
+import com.speechtherapy.repository.RedeemCodeRepository;
 import com.speechtherapy.service.UserService;
 import com.speechtherapy.service.ProgressService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
@@ -22,9 +24,12 @@ public class UserController {
     @Autowired
     private ProgressService progressService;
     
+    @Autowired
+    private RedeemCodeRepository redeemCodeRepository;
+    
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id);
+    public ResponseEntity<UserSummary> getUserById(@PathVariable Long id) {
+        UserSummary user = userService.getUserSummary(id);
         if (user != null) {
             return ResponseEntity.ok(user);
         } else {
@@ -53,21 +58,21 @@ public class UserController {
     }
     
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
+    public ResponseEntity<UserSummary> createUser(@RequestBody User user) {
         try {
             User createdUser = userService.createUser(user);
-            return ResponseEntity.ok(createdUser);
+            return ResponseEntity.ok(UserSummary.of(createdUser));
         } catch (Exception e) {
             return ResponseEntity.status(400).body(null);
         }
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
+    public ResponseEntity<UserSummary> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
         try {
             User updatedUser = userService.updateUser(id, userDetails);
             if (updatedUser != null) {
-                return ResponseEntity.ok(updatedUser);
+                return ResponseEntity.ok(UserSummary.of(updatedUser));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -92,10 +97,9 @@ public class UserController {
     }
 
     @GetMapping("/{id}/redeem-codes")
-    public ResponseEntity<?> listUserCodes(@PathVariable Long id, @Autowired com.speechtherapy.repository.RedeemCodeRepository redeemCodeRepository) {
-        User user = userService.getUserById(id);
-        if (user == null) return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(redeemCodeRepository.findAll().stream().filter(c -> c.getUser().getId().equals(id)).toList());
+    public ResponseEntity<?> listUserCodes(@PathVariable Long id) {
+        if (userService.getUserSummary(id) == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(redeemCodeRepository.findEntriesByUserId(id));
     }
     
     @PostMapping("/{id}/update-progress")
@@ -108,8 +112,14 @@ public class UserController {
                 return ResponseEntity.notFound().build();
             }
             
-            UserProgress updatedProgress = progressService.updateDailyProgress(user, progressUpdate);
-            Map<String, Object> summary = progressService.getUserProgressSummary(user);
+            try {
+                progressService.updateDailyProgress(user, progressUpdate);
+            } catch (DataIntegrityViolationException e) {
+                // Another request created today's row first; update that one instead
+                progressService.updateDailyProgress(userService.getUserById(id), progressUpdate);
+            }
+            // Reload once the update has committed rather than trusting the copy loaded above
+            Map<String, Object> summary = progressService.getUserProgressSummary(userService.getUserById(id));
             summary.put("message", "Progress updated successfully");
             return ResponseEntity.ok(summary);
             
@@ -138,10 +148,10 @@ public class UserController {
     }
     
     @GetMapping("/default")
-    public ResponseEntity<User> getOrCreateDefaultUser() {
+    public ResponseEntity<UserSummary> getOrCreateDefaultUser() {
         try {
             User defaultUser = userService.getOrCreateDefaultUser();
-            return ResponseEntity.ok(defaultUser);
+            return ResponseEntity.ok(UserSummary.of(defaultUser));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(null);
         }
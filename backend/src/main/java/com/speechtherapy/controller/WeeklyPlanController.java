@@ -1,11 +1,16 @@
 package com.speechtherapy.controller;
 
+import com.speechtherapy.dto.CursorPage;
+import com.speechtherapy.dto.WeeklyPlanEntry;
 import com.speechtherapy.model.*;
+import com.speechtherapy.service.HistoryService;
 import com.speechtherapy.service.WeeklyPlanService;
 import com.speechtherapy.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -30,6 +35,9 @@ public class WeeklyPlanController {
     @Autowired
     private WeeklyPlanRepository weeklyPlanRepository;
     
+    @Autowired
+    private HistoryService historyService;
+    
     /**
      * Get or create weekly plan for a user
      */
@@ -203,11 +211,12 @@ public class WeeklyPlanController {
     @PostMapping("/admin/reset-weekly")
     public ResponseEntity<Map<String, Object>> resetWeeklyProgress() {
         try {
+            // The reset runs in the background; progress is published as maintenance.job.* metrics
             weeklyPlanService.resetWeeklyProgress();
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Weekly progress reset successfully");
+            response.put("message", "Weekly progress reset started");
             response.put("timestamp", LocalDate.now());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.accepted().body(response);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to reset weekly progress: " + e.getMessage());
@@ -216,36 +225,50 @@ public class WeeklyPlanController {
     }
     
     /**
-     * Get user's weekly plan history
+     * Get one page of a user's weekly plan history, newest week first, with totals
+     * over the whole history
      */
     @GetMapping("/{userId}/history")
-    public ResponseEntity<Map<String, Object>> getWeeklyPlanHistory(@PathVariable Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
+    public ResponseEntity<Map<String, Object>> getWeeklyPlanHistory(@PathVariable Long userId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer limit) {
+        if (!userRepository.existsById(userId)) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "User not found");
             return ResponseEntity.badRequest().body(error);
         }
         
         try {
-            List<WeeklyPlan> history = weeklyPlanRepository.findByUserOrderByWeekStartDesc(userOpt.get());
+            CursorPage<WeeklyPlanEntry> page = historyService.weeklyPlans(userId, cursor, limit);
             Map<String, Object> response = new HashMap<>();
-            response.put("weeklyPlans", history);
-            response.put("count", history.size());
-            
-            // Calculate overall statistics
-            long completedWeeks = history.stream().filter(WeeklyPlan::getIsCompleted).count();
-            double averageProgress = history.stream().mapToDouble(WeeklyPlan::getProgressPercentage).average().orElse(0.0);
-            
-            response.put("completedWeeks", completedWeeks);
-            response.put("averageProgress", averageProgress);
-            response.put("totalWeeks", history.size());
+            response.put("weeklyPlans", page.items());
+            response.put("count", page.items().size());
+            response.put("nextCursor", page.nextCursor());
+            response.put("hasMore", page.hasMore());
+            response.putAll(weeklyPlanService.getHistoryStatistics(userId));
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to get weekly plan history: " + e.getMessage());
             return ResponseEntity.internalServerError().body(error);
         }
     }
+    
+    /**
+     * Stream a user's whole weekly plan history as NDJSON
+     */
+    @GetMapping(value = "/{userId}/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamWeeklyPlanHistory(@PathVariable Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(historyService.streamWeeklyPlans(userId));
+    }
 }
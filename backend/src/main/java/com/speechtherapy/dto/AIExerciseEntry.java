@@ -0,0 +1,16 @@
+package com.speechtherapy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * An AI-generated exercise as returned by the history endpoints.
+ */
+public record AIExerciseEntry(Long id, String exerciseContent, String exerciseType, String difficultyLevel,
+                              String targetPhonemes, String targetSkills, String context, String aiReasoning,
+                              Boolean isCompleted, LocalDateTime completedAt, Integer performanceScore,
+                              LocalDateTime createdAt, LocalDateTime expiresAt) {
+
+    public HistoryCursor cursor() {
+        return new HistoryCursor(createdAt, id);
+    }
+}
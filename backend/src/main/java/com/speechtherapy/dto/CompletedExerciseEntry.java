@@ -0,0 +1,24 @@
+package com.speechtherapy.dto;
+
+import com.speechtherapy.model.CompletedExercise;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A completed exercise as returned by the history and completion endpoints.
+ */
+public record CompletedExerciseEntry(Long id, String exerciseName, String exerciseType, String difficultyLevel,
+                                     Integer durationSeconds, LocalDateTime completedAt, LocalDate practiceDate,
+                                     String notes) {
+
+    public static CompletedExerciseEntry of(CompletedExercise exercise) {
+        return new CompletedExerciseEntry(exercise.getId(), exercise.getExerciseName(), exercise.getExerciseType(),
+            exercise.getDifficultyLevel(), exercise.getDurationSeconds(), exercise.getCompletedAt(),
+            exercise.getPracticeDate(), exercise.getNotes());
+    }
+
+    public HistoryCursor cursor() {
+        return new HistoryCursor(completedAt, id);
+    }
+}
@@ -0,0 +1,9 @@
+package com.speechtherapy.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated history. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+}
@@ -0,0 +1,36 @@
+package com.speechtherapy.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * The opaque token form of the paging cursors: their text form in URL-safe base64,
+ * so clients pass it back unchanged instead of building one themselves.
+ */
+final class CursorToken {
+
+    private CursorToken() {
+    }
+
+    static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token and hand its text form to {@code parser}. Returns null for a
+     * missing token (first page) and throws {@link IllegalArgumentException} with
+     * {@code invalidMessage} for a malformed one.
+     */
+    static <T> T decode(String token, String invalidMessage, Function<String, T> parser) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.apply(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException(invalidMessage, e);
+        }
+    }
+}
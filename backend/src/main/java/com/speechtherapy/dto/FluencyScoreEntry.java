@@ -0,0 +1,16 @@
+package com.speechtherapy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One fluency session as returned by the history endpoints.
+ */
+public record FluencyScoreEntry(Long id, Long exerciseId, LocalDateTime sessionDate, Integer pronunciationScore,
+                                Integer rhythmScore, Integer paceScore, Integer expressionScore,
+                                Integer overallFluencyScore, Integer speakingRateWpm, Integer pauseCount,
+                                Boolean stutterDetected, String emotionDetected, String feedbackNotes) {
+
+    public HistoryCursor cursor() {
+        return new HistoryCursor(sessionDate, id);
+    }
+}
@@ -0,0 +1,24 @@
+package com.speechtherapy.dto;
+
+/**
+ * Fluency averages and issue counts over all of a user's sessions, computed in one
+ * aggregate query. Missing sub-scores count as 0, as they always have.
+ */
+public record FluencySummary(long sessions, double pronunciation, double rhythm, double pace,
+                             double expression, double overall, long stutterSessions, long nervousSessions) {
+
+    // JPQL aggregates come back as nullable wrappers
+    public FluencySummary(Long sessions, Double pronunciation, Double rhythm, Double pace, Double expression,
+                          Double overall, Long stutterSessions, Long nervousSessions) {
+        this(orZero(sessions), orZero(pronunciation), orZero(rhythm), orZero(pace), orZero(expression),
+            orZero(overall), orZero(stutterSessions), orZero(nervousSessions));
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.speechtherapy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A game score as returned by the history endpoints, read straight from the query
+ * without loading the entity or its user.
+ */
+public record GameScoreEntry(Long id, Long userId, String gameId, Integer points, Integer accuracy,
+                             Integer attempts, Integer hintsUsed, Long totalTime, Double averageSpeed,
+                             String difficulty, Integer roundsCompleted, Integer wordsCompleted,
+                             Integer sentencesCompleted, Integer questionsCompleted,
+                             Integer twistersCompleted, LocalDateTime timestamp) {
+
+    public HistoryCursor cursor() {
+        return new HistoryCursor(timestamp, id);
+    }
+}
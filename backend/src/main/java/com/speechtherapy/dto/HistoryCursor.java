@@ -0,0 +1,29 @@
+package com.speechtherapy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in a user's history, newest first: the timestamp and id of the last row
+ * returned. The next page starts strictly after it, so rows inserted meanwhile never
+ * shift or repeat the pages a client is walking.
+ */
+public record HistoryCursor(LocalDateTime timestamp, long id) {
+
+    public String encode() {
+        return CursorToken.encode(timestamp + "|" + id);
+    }
+
+    /**
+     * Parse a token produced by {@link #encode()}, or null for a missing one
+     */
+    public static HistoryCursor decode(String token) {
+        return CursorToken.decode(token, "Invalid cursor", raw -> {
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        });
+    }
+}
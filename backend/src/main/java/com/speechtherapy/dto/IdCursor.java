@@ -0,0 +1,31 @@
+package com.speechtherapy.dto;
+
+/**
+ * Position in a listing ordered by primary key: the id of the last row returned.
+ * The next page starts at the first id above it, so a page costs the same however
+ * deep it is and rows added meanwhile never shift earlier pages.
+ */
+public record IdCursor(long lastId) {
+
+    private static final String PREFIX = "id:";
+
+    public String encode() {
+        return CursorToken.encode(PREFIX + lastId);
+    }
+
+    /**
+     * Parse a token produced by {@link #encode()}, or null for a missing one
+     */
+    public static IdCursor decode(String token) {
+        return CursorToken.decode(token, "Invalid page token", raw -> {
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Missing id prefix");
+            }
+            return new IdCursor(Long.parseLong(raw.substring(PREFIX.length())));
+        });
+    }
+
+    public static long lastIdOf(IdCursor cursor) {
+        return cursor != null ? cursor.lastId() : Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,22 @@
+package com.speechtherapy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a leaderboard. Holds only what the leaderboard endpoints return, so
+ * the in-memory top-K structures do not keep JPA entities alive.
+ */
+public record LeaderboardEntry(int rank, Long scoreId, Long userId, String userName, String gameId,
+                               Integer points, Integer accuracy, String difficulty,
+                               LocalDateTime timestamp) {
+
+    // Used by JPQL constructor expressions, which have no rank to supply
+    public LeaderboardEntry(Long scoreId, Long userId, String userName, String gameId,
+                            Integer points, Integer accuracy, String difficulty, LocalDateTime timestamp) {
+        this(0, scoreId, userId, userName, gameId, points, accuracy, difficulty, timestamp);
+    }
+
+    public LeaderboardEntry withRank(int rank) {
+        return new LeaderboardEntry(rank, scoreId, userId, userName, gameId, points, accuracy, difficulty, timestamp);
+    }
+}
@@ -0,0 +1,7 @@
+package com.speechtherapy.dto;
+
+/**
+ * Outcome of one run of a bulk maintenance job.
+ */
+public record MaintenanceResult(String job, long rowsAffected, int chunks, long durationMs) {
+}
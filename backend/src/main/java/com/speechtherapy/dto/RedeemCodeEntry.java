@@ -0,0 +1,10 @@
+package com.speechtherapy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A redeem code as returned by the API, with its owner as an id rather than the user entity.
+ */
+public record RedeemCodeEntry(Long id, Long userId, String code, Integer pointsThreshold, boolean used,
+                              LocalDateTime createdAt, LocalDateTime usedAt) {
+}
@@ -0,0 +1,22 @@
+package com.speechtherapy.dto;
+
+import com.speechtherapy.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's profile as returned by the auth and user endpoints: the user's own
+ * columns only, without the password or the exercise and progress collections.
+ */
+public record UserSummary(Long id, String name, String email, Integer age, String nativeLanguage,
+                          String targetLanguage, String difficultyLevel, Integer totalPoints, Integer streakDays,
+                          Integer weeklyStreak, Integer exercisesCompleted, Integer dailyGoal, Integer weeklyGoal,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getName(), user.getEmail(), user.getAge(),
+            user.getNativeLanguage(), user.getTargetLanguage(), user.getDifficultyLevel(), user.getTotalPoints(),
+            user.getStreakDays(), user.getWeeklyStreak(), user.getExercisesCompleted(), user.getDailyGoal(),
+            user.getWeeklyGoal(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
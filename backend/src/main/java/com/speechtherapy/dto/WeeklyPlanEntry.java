@@ -0,0 +1,17 @@
+package com.speechtherapy.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A weekly plan as returned by the plan history endpoint.
+ */
+public record WeeklyPlanEntry(Long id, LocalDate weekStart, LocalDate weekEnd,
+                              Integer totalMinutesGoal, Integer totalMinutesCompleted,
+                              Integer bodyExercisesGoal, Integer bodyExercisesCompleted,
+                              Integer speechExercisesGoal, Integer speechExercisesCompleted,
+                              Integer weeklyStreak, Boolean isCompleted) {
+
+    public HistoryCursor cursor() {
+        return new HistoryCursor(weekStart.atStartOfDay(), id);
+    }
+}
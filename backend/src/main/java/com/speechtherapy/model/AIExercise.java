@@ -1,11 +1,18 @@
 package com.speechtherapy.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 
 @Entity
-@Table(name = "ai_exercises")
+@Table(name = "ai_exercises", indexes = {
+    // Keyset pagination of a user's history, newest first
+    @Index(name = "idx_ai_exercises_user_created_at", columnList = "user_id, created_at, id")
+})
 public class AIExercise {
     
     @Id
@@ -32,6 +39,22 @@ public class AIExercise {
     @Column(name = "target_skills")
     private String targetSkills; // Comma-separated skills to improve
     
+    // The same targets one row per value, so lookups are exact and indexed. Kept in
+    // step with the comma-separated columns by their setters.
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "ai_exercise_phonemes", joinColumns = @JoinColumn(name = "ai_exercise_id"),
+        indexes = @Index(name = "idx_ai_exercise_phonemes_phoneme", columnList = "phoneme, ai_exercise_id"))
+    @Column(name = "phoneme", nullable = false, length = 64)
+    private Set<String> phonemes = new HashSet<>();
+    
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "ai_exercise_skills", joinColumns = @JoinColumn(name = "ai_exercise_id"),
+        indexes = @Index(name = "idx_ai_exercise_skills_skill", columnList = "skill, ai_exercise_id"))
+    @Column(name = "skill", nullable = false, length = 64)
+    private Set<String> skills = new HashSet<>();
+    
     @Column(name = "context")
     private String context; // real-life scenario, academic, professional, etc.
     
@@ -83,10 +106,52 @@ public class AIExercise {
     public void setDifficultyLevel(String difficultyLevel) { this.difficultyLevel = difficultyLevel; }
     
     public String getTargetPhonemes() { return targetPhonemes; }
-    public void setTargetPhonemes(String targetPhonemes) { this.targetPhonemes = targetPhonemes; }
+    public void setTargetPhonemes(String targetPhonemes) {
+        this.targetPhonemes = targetPhonemes;
+        replace(phonemes, splitTargets(targetPhonemes));
+    }
     
     public String getTargetSkills() { return targetSkills; }
-    public void setTargetSkills(String targetSkills) { this.targetSkills = targetSkills; }
+    public void setTargetSkills(String targetSkills) {
+        this.targetSkills = targetSkills;
+        replace(skills, splitTargets(targetSkills));
+    }
+    
+    public Set<String> getPhonemes() { return phonemes; }
+    
+    public Set<String> getSkills() { return skills; }
+    
+    // Rebuild the target rows from the comma-separated columns, e.g. for rows written before they existed
+    public void syncTargets() {
+        replace(phonemes, splitTargets(targetPhonemes));
+        replace(skills, splitTargets(targetSkills));
+    }
+    
+    /**
+     * The form a phoneme or skill is stored and looked up in: trimmed and lower case.
+     */
+    public static String normalizeTarget(String target) {
+        return target == null ? "" : target.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    static Set<String> splitTargets(String targets) {
+        Set<String> values = new HashSet<>();
+        if (targets != null) {
+            for (String target : targets.split(",")) {
+                String value = normalizeTarget(target);
+                if (!value.isEmpty()) {
+                    values.add(value);
+                }
+            }
+        }
+        return values;
+    }
+    
+    // Change the managed collection in place so only the differing rows are written
+    private static void replace(Set<String> current, Set<String> values) {
+        current.retainAll(values);
+        current.addAll(values);
+    }
     
     public String getContext() { return context; }
     public void setContext(String context) { this.context = context; }
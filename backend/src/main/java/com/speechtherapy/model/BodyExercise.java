@@ -57,6 +57,17 @@ public class BodyExercise {
     @Column(name = "created_at")
     private java.time.LocalDateTime createdAt;
     
+    // Same derived columns as DatabaseExercise, which maps this table too; filled
+    // here as well so rows saved through this entity are found by the indexed lookups
+    @Column(name = "derived_type", length = 32)
+    private String derivedType;
+    
+    @Column(name = "derived_difficulty", length = 16)
+    private String derivedDifficulty;
+    
+    @Column(name = "derived_category", length = 64)
+    private String derivedCategory;
+    
     // Constructors
     public BodyExercise() {
         this.createdAt = java.time.LocalDateTime.now();
@@ -119,4 +130,22 @@ public class BodyExercise {
     
     public java.time.LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(java.time.LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public String getDerivedType() { return derivedType; }
+    
+    public String getDerivedDifficulty() { return derivedDifficulty; }
+    
+    public String getDerivedCategory() { return derivedCategory; }
+    
+    /**
+     * Recompute the stored classifications with the same rules as
+     * {@link DatabaseExercise#classify()}, before every insert and update.
+     */
+    @PrePersist
+    @PreUpdate
+    public void classify() {
+        this.derivedType = ExerciseClassifier.typeOf(description);
+        this.derivedDifficulty = ExerciseClassifier.difficultyOf(description);
+        this.derivedCategory = ExerciseClassifier.categoryOf(targetMuscles, description);
+    }
 }
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "completed_exercises")
+@Table(name = "completed_exercises", indexes = {
+    // Keyset pagination of a user's history, newest first
+    @Index(name = "idx_completed_exercises_user_completed_at", columnList = "user_id, completed_at, id")
+})
 public class CompletedExercise {
     
     @Id
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "body_exercises")
+@Table(name = "body_exercises", indexes = {
+    @Index(name = "idx_body_exercises_derived_type", columnList = "derived_type"),
+    @Index(name = "idx_body_exercises_derived_difficulty", columnList = "derived_difficulty"),
+    @Index(name = "idx_body_exercises_derived_category", columnList = "derived_category")
+})
 public class DatabaseExercise {
     
     @Id
@@ -35,6 +39,17 @@ public class DatabaseExercise {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Classifications derived from description/target muscles, stored on write so
+    // they can be filtered on with an index
+    @Column(name = "derived_type", length = 32)
+    private String derivedType;
+    
+    @Column(name = "derived_difficulty", length = 16)
+    private String derivedDifficulty;
+    
+    @Column(name = "derived_category", length = 64)
+    private String derivedCategory;
+    
     // Constructors
     public DatabaseExercise() {
         this.createdAt = LocalDateTime.now();
@@ -82,15 +97,15 @@ public class DatabaseExercise {
     }
     
     public String getExerciseType() { 
-        return getExerciseTypeFromDescription(); // Derive from description
+        return derivedType != null ? derivedType : ExerciseClassifier.typeOf(description);
     }
     
     public String getDifficultyLevel() { 
-        return getDifficultyLevelFromDescription(); // Derive from description
+        return derivedDifficulty != null ? derivedDifficulty : ExerciseClassifier.difficultyOf(description);
     }
     
     public String getCategory() { 
-        return getCategoryFromTargetMuscles(); // Derive from target muscles
+        return derivedCategory != null ? derivedCategory : ExerciseClassifier.categoryOf(targetMuscles, description);
     }
     
     public String getSpeechBenefits() { 
@@ -105,33 +120,16 @@ public class DatabaseExercise {
         return (durationSeconds != null ? durationSeconds / 10 : 5) + (repetitions != null ? repetitions : 1); // Calculate points
     }
     
-    // Private helper methods
-    private String getExerciseTypeFromDescription() {
-        String desc = description != null ? description.toLowerCase() : "";
-        if (desc.contains("breathing")) return "breathing";
-        if (desc.contains("facial")) return "facial";
-        if (desc.contains("jaw")) return "jaw";
-        if (desc.contains("tongue")) return "tongue";
-        if (desc.contains("vocal")) return "vocal";
-        if (desc.contains("relaxation")) return "relaxation";
-        return "general";
-    }
-    
-    private String getDifficultyLevelFromDescription() {
-        String desc = description != null ? description.toLowerCase() : "";
-        if (desc.contains("advanced") || desc.contains("complex")) return "advanced";
-        if (desc.contains("intermediate") || desc.contains("moderate")) return "intermediate";
-        return "beginner"; // Default to beginner
-    }
-    
-    private String getCategoryFromTargetMuscles() {
-        String muscles = targetMuscles != null ? targetMuscles.toLowerCase() : "";
-        if (muscles.contains("diaphragm") || muscles.contains("lungs")) return "Breathing & Voice Control";
-        if (muscles.contains("facial") || muscles.contains("lips")) return "Facial Muscle Training";
-        if (muscles.contains("jaw")) return "Jaw & Mouth Control";
-        if (muscles.contains("tongue")) return "Tongue & Articulation";
-        if (muscles.contains("vocal")) return "Vocal & Resonance";
-        return "General Speech Training";
+    /**
+     * Recompute the stored classifications. Runs automatically before every insert
+     * and update, and from the backfill job for rows written before these columns existed.
+     */
+    @PrePersist
+    @PreUpdate
+    public void classify() {
+        this.derivedType = ExerciseClassifier.typeOf(description);
+        this.derivedDifficulty = ExerciseClassifier.difficultyOf(description);
+        this.derivedCategory = ExerciseClassifier.categoryOf(targetMuscles, description);
     }
     
     @Override
@@ -0,0 +1,81 @@
+package com.speechtherapy.model;
+
+/**
+ * Rules that derive an exercise's type, difficulty level and category from its
+ * free-text description and target muscles.
+ */
+public final class ExerciseClassifier {
+
+    public static final String DEFAULT_TYPE = "general";
+    public static final String DEFAULT_DIFFICULTY = "beginner";
+    public static final String DEFAULT_CATEGORY = "General Speech Training";
+
+    private ExerciseClassifier() {
+    }
+
+    /**
+     * Determine difficulty level based on exercise description
+     */
+    public static String difficultyOf(String description) {
+        String desc = description != null ? description.toLowerCase() : "";
+
+        if (desc.contains("advanced") || desc.contains("complex") ||
+            desc.contains("mastery") || desc.contains("professional")) {
+            return "advanced";
+        }
+        if (desc.contains("intermediate") || desc.contains("moderate") ||
+            desc.contains("progressive") || desc.contains("enhanced")) {
+            return "intermediate";
+        }
+        return DEFAULT_DIFFICULTY;
+    }
+
+    /**
+     * Determine exercise type based on exercise description
+     */
+    public static String typeOf(String description) {
+        String desc = description != null ? description.toLowerCase() : "";
+
+        if (desc.contains("breathing")) return "breathing";
+        if (desc.contains("facial")) return "facial";
+        if (desc.contains("jaw")) return "jaw";
+        if (desc.contains("tongue")) return "tongue";
+        if (desc.contains("vocal")) return "vocal";
+        if (desc.contains("relaxation")) return "relaxation";
+        if (desc.contains("phoneme")) return "phoneme";
+        if (desc.contains("word")) return "word";
+        if (desc.contains("sentence")) return "sentence";
+        if (desc.contains("conversation")) return "conversation";
+        if (desc.contains("tongue twister")) return "tongue_twister";
+        return DEFAULT_TYPE;
+    }
+
+    /**
+     * Determine category from target muscles, falling back to the exercise type
+     */
+    public static String categoryOf(String targetMuscles, String description) {
+        String muscles = targetMuscles != null ? targetMuscles.toLowerCase() : "";
+
+        if (muscles.contains("diaphragm") || muscles.contains("lungs")) return "Breathing & Voice Control";
+        if (muscles.contains("facial") || muscles.contains("lips")) return "Facial Muscle Training";
+        if (muscles.contains("jaw")) return "Jaw & Mouth Control";
+        if (muscles.contains("tongue")) return "Tongue & Articulation";
+        if (muscles.contains("vocal")) return "Vocal & Resonance";
+        if (muscles.contains("relaxation")) return "Relaxation & Stress Relief";
+
+        switch (typeOf(description)) {
+            case "breathing": return "Breathing & Voice Control";
+            case "facial": return "Facial Muscle Training";
+            case "jaw": return "Jaw & Mouth Control";
+            case "tongue": return "Tongue & Articulation";
+            case "vocal": return "Vocal & Resonance";
+            case "relaxation": return "Relaxation & Stress Relief";
+            case "phoneme": return "Phoneme Practice";
+            case "word": return "Word Pronunciation";
+            case "sentence": return "Sentence Fluency";
+            case "conversation": return "Conversational Skills";
+            case "tongue_twister": return "Tongue Twisters";
+            default: return DEFAULT_CATEGORY;
+        }
+    }
+}
@@ -6,7 +6,10 @@ import jakarta.validation.constraints.Max;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fluency_scores")
+@Table(name = "fluency_scores", indexes = {
+    // Keyset pagination of a user's history, newest first
+    @Index(name = "idx_fluency_scores_user_session_date", columnList = "user_id, session_date, id")
+})
 public class FluencyScore {
     
     @Id
@@ -5,7 +5,12 @@ import java.time.LocalDateTime;
 import java.util.Locale;
 
 @Entity
-@Table(name = "game_scores")
+@Table(name = "game_scores", indexes = {
+    @Index(name = "idx_game_scores_points", columnList = "points"),
+    @Index(name = "idx_game_scores_game_points", columnList = "game_id, points"),
+    @Index(name = "idx_game_scores_user_game", columnList = "user_id, game_id"),
+    @Index(name = "idx_game_scores_user_timestamp", columnList = "user_id, timestamp, id")
+})
 public class GameScore {
     
     @Id
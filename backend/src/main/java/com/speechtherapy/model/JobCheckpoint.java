@@ -0,0 +1,102 @@
+package com.speechtherapy.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker for a chunked maintenance run. The last processed id is written
+ * in the same transaction as each chunk, so a run that dies part-way can resume
+ * from the next chunk without repeating or skipping rows.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    // ABANDONED: left unfinished too long to resume safely; only a manual rerun starts it again
+    public enum Status { RUNNING, COMPLETED, ABANDONED }
+
+    // "<job>:<run key>", e.g. "weekly-rollover:2024-06-03"
+    @Id
+    @Column(name = "id", length = 128)
+    private String id;
+
+    @Column(name = "job_name", nullable = false, length = 64)
+    private String jobName;
+
+    @Column(name = "run_key", nullable = false, length = 64)
+    private String runKey;
+
+    // Plain VARCHAR rather than a native ENUM, so adding a status needs no column change
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public JobCheckpoint() {
+    }
+
+    public JobCheckpoint(String jobName, String runKey) {
+        this.id = idFor(jobName, runKey);
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.status = Status.RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+
+    // Start the run over from the first row
+    public void restart() {
+        this.status = Status.RUNNING;
+        this.lastId = 0;
+        this.rowsProcessed = 0;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+        this.completedAt = null;
+    }
+
+    public static String idFor(String jobName, String runKey) {
+        return jobName + ":" + runKey;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+
+    public String getJobName() { return jobName; }
+
+    public String getRunKey() { return runKey; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public long getLastId() { return lastId; }
+    public void setLastId(long lastId) { this.lastId = lastId; }
+
+    public long getRowsProcessed() { return rowsProcessed; }
+    public void setRowsProcessed(long rowsProcessed) { this.rowsProcessed = rowsProcessed; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,55 @@
+package com.speechtherapy.model;
+
+import jakarta.persistence.Embeddable;
+
+/**
+ * An average kept as a sum and a count. New values and other partial averages fold
+ * in exactly, in any order, so batched and concurrent updates merge without the
+ * rounding drift of re-averaging a stored mean. In the database the same two columns
+ * are advanced with {@code sum = sum + :sum, count = count + :count}.
+ *
+ * <p>Embedding entities name the columns with {@code @AttributeOverride}s for
+ * {@code sum} and {@code count}.
+ */
+@Embeddable
+public class RunningAverage {
+
+    private double sum;
+
+    private long count;
+
+    public RunningAverage() {
+    }
+
+    public RunningAverage(double sum, long count) {
+        this.sum = sum;
+        this.count = count;
+    }
+
+    // Rebuild from a known average, e.g. one entered by hand or stored before sums were kept
+    public static RunningAverage of(double average, long count) {
+        return new RunningAverage(average * count, count);
+    }
+
+    public void add(double value) {
+        sum += value;
+        count++;
+    }
+
+    public void add(double valueSum, long valueCount) {
+        sum += valueSum;
+        count += valueCount;
+    }
+
+    public RunningAverage merge(RunningAverage other) {
+        add(other.sum, other.count);
+        return this;
+    }
+
+    public double getAverage() {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    public double getSum() { return sum; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,81 @@
+package com.speechtherapy.model;
+
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.AttributeOverrides;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+
+/**
+ * Running totals for one slice of a user's game scores (one game, or one difficulty).
+ * Sums and counts are stored rather than averages so a new score can be folded in
+ * without reading the earlier ones.
+ */
+@Embeddable
+public class ScoreBreakdown {
+
+    @Column(name = "games_count")
+    private long count;
+
+    @Column(name = "points_sum")
+    private long pointsSum;
+
+    // Scores without an accuracy don't count towards the accuracy average
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "sum", column = @Column(name = "accuracy_sum")),
+        @AttributeOverride(name = "count", column = @Column(name = "accuracy_count"))
+    })
+    private RunningAverage accuracy = new RunningAverage();
+
+    @Column(name = "best_points")
+    private int bestPoints;
+
+    public ScoreBreakdown() {
+    }
+
+    public ScoreBreakdown(long count, long pointsSum, long accuracySum, long accuracyCount, int bestPoints) {
+        this.count = count;
+        this.pointsSum = pointsSum;
+        this.accuracy = new RunningAverage(accuracySum, accuracyCount);
+        this.bestPoints = bestPoints;
+    }
+
+    public void add(Integer points, Integer accuracyValue) {
+        int value = points != null ? points : 0;
+        count++;
+        pointsSum += value;
+        bestPoints = count == 1 ? value : Math.max(bestPoints, value);
+        if (accuracyValue != null) {
+            getAccuracy().add(accuracyValue);
+        }
+    }
+
+    public void add(ScoreBreakdown other) {
+        bestPoints = count == 0 ? other.bestPoints : Math.max(bestPoints, other.bestPoints);
+        count += other.count;
+        pointsSum += other.pointsSum;
+        getAccuracy().merge(other.getAccuracy());
+    }
+
+    public double getAveragePoints() {
+        return count > 0 ? (double) pointsSum / count : 0.0;
+    }
+
+    public double getAverageAccuracy() {
+        return getAccuracy().getAverage();
+    }
+
+    public long getCount() { return count; }
+    public long getPointsSum() { return pointsSum; }
+    public long getAccuracyCount() { return getAccuracy().getCount(); }
+    public int getBestPoints() { return bestPoints; }
+
+    // Hibernate leaves an embeddable null when all of its columns are null
+    private RunningAverage getAccuracy() {
+        if (accuracy == null) {
+            accuracy = new RunningAverage();
+        }
+        return accuracy;
+    }
+}
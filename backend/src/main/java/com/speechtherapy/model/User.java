@@ -40,16 +40,18 @@ public class User {
     @Column(name = "difficulty_level")
     private String difficultyLevel = "Intermediate";
     
-    @Column(name = "total_points")
+    // Counters are written only by the atomic increments in UserRepository, never by
+    // an entity save, so a save with a stale copy can't undo a concurrent increment
+    @Column(name = "total_points", updatable = false)
     private Integer totalPoints = 0;
     
-    @Column(name = "streak_days")
+    @Column(name = "streak_days", updatable = false)
     private Integer streakDays = 0;
     
     @Column(name = "weekly_streak_weeks")
     private Integer weeklyStreak = 0;
     
-    @Column(name = "exercises_completed")
+    @Column(name = "exercises_completed", updatable = false)
     private Integer exercisesCompleted = 0;
     
     @Column(name = "daily_goal")
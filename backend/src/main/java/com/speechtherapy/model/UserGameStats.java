@@ -0,0 +1,92 @@
+package com.speechtherapy.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user aggregate of all game scores, keyed by user id. Updated in the same
+ * transaction as each score insert and rebuilt from the raw scores by the
+ * reconciliation job.
+ */
+@Entity
+@Table(name = "user_game_stats")
+public class UserGameStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Embedded
+    private ScoreBreakdown totals = new ScoreBreakdown();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_game_stats_by_game", joinColumns = @JoinColumn(name = "user_id"))
+    @MapKeyColumn(name = "game_id")
+    private Map<String, ScoreBreakdown> byGame = new HashMap<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_game_stats_by_difficulty", joinColumns = @JoinColumn(name = "user_id"))
+    @MapKeyColumn(name = "difficulty")
+    private Map<String, ScoreBreakdown> byDifficulty = new HashMap<>();
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public UserGameStats() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public UserGameStats(Long userId) {
+        this();
+        this.userId = userId;
+    }
+
+    /**
+     * Fold one score into the totals and the game and difficulty breakdowns.
+     * Scores without a difficulty are left out of the difficulty breakdown.
+     */
+    public void add(GameScore score) {
+        totals.add(score.getPoints(), score.getAccuracy());
+        byGame.computeIfAbsent(score.getGameId(), k -> new ScoreBreakdown())
+            .add(score.getPoints(), score.getAccuracy());
+        if (score.getDifficulty() != null) {
+            byDifficulty.computeIfAbsent(score.getDifficulty(), k -> new ScoreBreakdown())
+                .add(score.getPoints(), score.getAccuracy());
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Replace everything with totals recomputed from the raw scores.
+     */
+    public void replace(Map<String, ScoreBreakdown> games, Map<String, ScoreBreakdown> difficulties) {
+        ScoreBreakdown recomputed = new ScoreBreakdown();
+        games.values().forEach(recomputed::add);
+        this.totals = recomputed;
+        this.byGame.clear();
+        this.byGame.putAll(games);
+        this.byDifficulty.clear();
+        this.byDifficulty.putAll(difficulties);
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+
+    public ScoreBreakdown getTotals() { return totals != null ? totals : new ScoreBreakdown(); }
+
+    public Map<String, ScoreBreakdown> getByGame() { return byGame; }
+
+    public Map<String, ScoreBreakdown> getByDifficulty() { return byDifficulty; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -1,11 +1,16 @@
 package com.speechtherapy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_progress")
+// Write only changed columns, so an edit to one field can't undo concurrent counter increments
+@DynamicUpdate
+@Table(name = "user_progress", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_progress_user_date", columnNames = {"user_id", "practice_date"})
+})
 public class UserProgress {
     
     @Id
@@ -25,9 +30,18 @@ public class UserProgress {
     @Column(name = "exercises_completed")
     private Integer exercisesCompleted = 0;
     
+    // Kept in step with score below for readers that only need the mean
     @Column(name = "average_score")
     private Double averageScore = 0.0;
     
+    // Sum and count of the day's exercise scores; the source of averageScore
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "sum", column = @Column(name = "score_sum")),
+        @AttributeOverride(name = "count", column = @Column(name = "score_count"))
+    })
+    private RunningAverage score = new RunningAverage();
+    
     @Column(name = "phoneme_exercises")
     private Integer phonemeExercises = 0;
     
@@ -82,7 +96,21 @@ public class UserProgress {
     public void setExercisesCompleted(Integer exercisesCompleted) { this.exercisesCompleted = exercisesCompleted; }
     
     public Double getAverageScore() { return averageScore; }
-    public void setAverageScore(Double averageScore) { this.averageScore = averageScore; }
+    
+    // An average set directly stands for every exercise completed that day; the running
+    // count may still be 0 on a new row, which would drop the average on the next merge
+    public void setAverageScore(Double averageScore) {
+        this.averageScore = averageScore;
+        long count = exercisesCompleted != null ? exercisesCompleted : 0;
+        this.score = RunningAverage.of(averageScore != null ? averageScore : 0.0, count);
+    }
+    
+    public RunningAverage getScore() { return score != null ? score : new RunningAverage(); }
+    
+    public void addScores(RunningAverage scores) {
+        this.score = getScore().merge(scores);
+        this.averageScore = this.score.getAverage();
+    }
     
     public Integer getPhonemeExercises() { return phonemeExercises; }
     public void setPhonemeExercises(Integer phonemeExercises) { this.phonemeExercises = phonemeExercises; }
@@ -7,7 +7,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "weekly_plans")
+@Table(name = "weekly_plans", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_weekly_plans_user_week", columnNames = {"user_id", "week_start"})
+})
 public class WeeklyPlan {
     
     @Id
@@ -27,21 +29,32 @@ public class WeeklyPlan {
     @Column(name = "total_minutes_goal")
     private Integer totalMinutesGoal = 105; // 15 minutes per day * 7 days
     
-    @Column(name = "total_minutes_completed")
+    // Completion counters are written only by the atomic increments in
+    // WeeklyPlanRepository and the rollover job, never by an entity save,
+    // so they have getters but no setters
+    @Column(name = "total_minutes_completed", updatable = false)
     private Integer totalMinutesCompleted = 0;
     
     @Column(name = "body_exercises_goal")
     private Integer bodyExercisesGoal = 7; // 1 body exercise per day
     
-    @Column(name = "body_exercises_completed")
+    @Column(name = "body_exercises_completed", updatable = false)
     private Integer bodyExercisesCompleted = 0;
     
     @Column(name = "speech_exercises_goal")
     private Integer speechExercisesGoal = 14; // 2 speech exercises per day
     
-    @Column(name = "speech_exercises_completed")
+    @Column(name = "speech_exercises_completed", updatable = false)
     private Integer speechExercisesCompleted = 0;
     
+    // Scores of the exercises counted this week, merged in from the daily rows
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "sum", column = @Column(name = "score_sum", updatable = false)),
+        @AttributeOverride(name = "count", column = @Column(name = "score_count", updatable = false))
+    })
+    private RunningAverage score = new RunningAverage();
+    
     @Column(name = "weekly_streak")
     private Integer weeklyStreak = 0;
     
@@ -83,6 +96,10 @@ public class WeeklyPlan {
         return Math.min(100.0, (double) speechExercisesCompleted / speechExercisesGoal * 100);
     }
     
+    public double getAverageScore() {
+        return getScore().getAverage();
+    }
+    
     public boolean isOnTrack() {
         return getProgressPercentage() >= 80.0; // 80% or more is considered on track
     }
@@ -104,19 +121,18 @@ public class WeeklyPlan {
     public void setTotalMinutesGoal(Integer totalMinutesGoal) { this.totalMinutesGoal = totalMinutesGoal; }
     
     public Integer getTotalMinutesCompleted() { return totalMinutesCompleted; }
-    public void setTotalMinutesCompleted(Integer totalMinutesCompleted) { this.totalMinutesCompleted = totalMinutesCompleted; }
     
     public Integer getBodyExercisesGoal() { return bodyExercisesGoal; }
     public void setBodyExercisesGoal(Integer bodyExercisesGoal) { this.bodyExercisesGoal = bodyExercisesGoal; }
     
     public Integer getBodyExercisesCompleted() { return bodyExercisesCompleted; }
-    public void setBodyExercisesCompleted(Integer bodyExercisesCompleted) { this.bodyExercisesCompleted = bodyExercisesCompleted; }
     
     public Integer getSpeechExercisesGoal() { return speechExercisesGoal; }
     public void setSpeechExercisesGoal(Integer speechExercisesGoal) { this.speechExercisesGoal = speechExercisesGoal; }
     
     public Integer getSpeechExercisesCompleted() { return speechExercisesCompleted; }
-    public void setSpeechExercisesCompleted(Integer speechExercisesCompleted) { this.speechExercisesCompleted = speechExercisesCompleted; }
+    
+    public RunningAverage getScore() { return score != null ? score : new RunningAverage(); }
     
     public Integer getWeeklyStreak() { return weeklyStreak; }
     public void setWeeklyStreak(Integer weeklyStreak) { this.weeklyStreak = weeklyStreak; }
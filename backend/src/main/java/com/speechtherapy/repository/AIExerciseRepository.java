@@ -1,7 +1,9 @@
 package com.speechtherapy.repository;
 
+import com.speechtherapy.dto.AIExerciseEntry;
 import com.speechtherapy.model.AIExercise;
 import com.speechtherapy.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,18 +23,49 @@ public interface AIExerciseRepository extends JpaRepository<AIExercise, Long> {
     
     List<AIExercise> findByUserAndDifficultyLevelOrderByCreatedAtDesc(User user, String difficultyLevel);
     
-    @Query("SELECT a FROM AIExercise a WHERE a.user = :user AND a.expiresAt > :now AND a.isCompleted = false ORDER BY a.createdAt DESC")
-    List<AIExercise> findActiveExercisesByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+    // Exact matches on the normalized target rows, e.g. "s" no longer matches "sh"
+    default List<AIExercise> findByUserAndTargetPhoneme(User user, String phoneme) {
+        return findByUserAndPhoneme(user, AIExercise.normalizeTarget(phoneme));
+    }
     
-    @Query("SELECT a FROM AIExercise a WHERE a.user = :user AND a.targetPhonemes LIKE %:phoneme% ORDER BY a.createdAt DESC")
-    List<AIExercise> findByUserAndTargetPhoneme(@Param("user") User user, @Param("phoneme") String phoneme);
+    default List<AIExercise> findByUserAndTargetSkill(User user, String skill) {
+        return findByUserAndSkill(user, AIExercise.normalizeTarget(skill));
+    }
     
-    @Query("SELECT a FROM AIExercise a WHERE a.user = :user AND a.targetSkills LIKE %:skill% ORDER BY a.createdAt DESC")
-    List<AIExercise> findByUserAndTargetSkill(@Param("user") User user, @Param("skill") String skill);
+    @Query("SELECT a FROM AIExercise a JOIN a.phonemes p WHERE a.user = :user AND p = :phoneme ORDER BY a.createdAt DESC")
+    List<AIExercise> findByUserAndPhoneme(@Param("user") User user, @Param("phoneme") String phoneme);
+    
+    @Query("SELECT a FROM AIExercise a JOIN a.skills s WHERE a.user = :user AND s = :skill ORDER BY a.createdAt DESC")
+    List<AIExercise> findByUserAndSkill(@Param("user") User user, @Param("skill") String skill);
+    
+    /**
+     * Rows with targets in the comma-separated columns but no target rows yet, in id order
+     */
+    @Query("SELECT a FROM AIExercise a WHERE a.id > :afterId AND (" +
+           "(a.targetPhonemes IS NOT NULL AND a.targetPhonemes <> '' AND a.phonemes IS EMPTY) OR " +
+           "(a.targetSkills IS NOT NULL AND a.targetSkills <> '' AND a.skills IS EMPTY)) ORDER BY a.id")
+    List<AIExercise> findWithoutTargetRows(@Param("afterId") Long afterId, Pageable pageable);
     
     @Query("SELECT a FROM AIExercise a WHERE a.user = :user AND a.context = :context ORDER BY a.createdAt DESC")
     List<AIExercise> findByUserAndContext(@Param("user") User user, @Param("context") String context);
     
     @Query("SELECT a FROM AIExercise a WHERE a.user = :user AND a.createdAt >= :since ORDER BY a.createdAt DESC")
     List<AIExercise> findByUserSince(@Param("user") User user, @Param("since") LocalDateTime since);
+    
+    // A user's exercises newest first, one keyset page at a time
+    String AI_EXERCISE_ENTRY = "SELECT new com.speechtherapy.dto.AIExerciseEntry(a.id, a.exerciseContent, a.exerciseType, " +
+        "a.difficultyLevel, a.targetPhonemes, a.targetSkills, a.context, a.aiReasoning, a.isCompleted, a.completedAt, " +
+        "a.performanceScore, a.createdAt, a.expiresAt) FROM AIExercise a WHERE a.user.id = :userId ";
+    
+    @Query(AI_EXERCISE_ENTRY + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AIExerciseEntry> findHistory(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(AI_EXERCISE_ENTRY + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AIExerciseEntry> findHistoryAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+    
+    // Unexpired, uncompleted exercises, newest first
+    @Query(AI_EXERCISE_ENTRY + "AND a.expiresAt > :now AND a.isCompleted = false ORDER BY a.createdAt DESC")
+    List<AIExerciseEntry> findActiveEntries(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
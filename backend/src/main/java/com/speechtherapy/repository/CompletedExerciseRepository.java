@@ -1,13 +1,16 @@
 package com.speechtherapy.repository;
 
+import com.speechtherapy.dto.CompletedExerciseEntry;
 import com.speechtherapy.model.CompletedExercise;
 import com.speechtherapy.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -60,4 +63,24 @@ public interface CompletedExerciseRepository extends JpaRepository<CompletedExer
      * Count completed exercises by user
      */
     long countByUser(User user);
+    
+    /**
+     * Count completed exercises by user and date range
+     */
+    long countByUserAndPracticeDateBetween(User user, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * A user's completed exercises newest first, one keyset page at a time
+     */
+    String COMPLETED_EXERCISE_ENTRY = "SELECT new com.speechtherapy.dto.CompletedExerciseEntry(ce.id, ce.exerciseName, " +
+        "ce.exerciseType, ce.difficultyLevel, ce.durationSeconds, ce.completedAt, ce.practiceDate, ce.notes) " +
+        "FROM CompletedExercise ce WHERE ce.user.id = :userId ";
+    
+    @Query(COMPLETED_EXERCISE_ENTRY + "ORDER BY ce.completedAt DESC, ce.id DESC")
+    List<CompletedExerciseEntry> findHistory(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(COMPLETED_EXERCISE_ENTRY + "AND (ce.completedAt < :completedAt OR (ce.completedAt = :completedAt AND ce.id < :id)) " +
+           "ORDER BY ce.completedAt DESC, ce.id DESC")
+    List<CompletedExerciseEntry> findHistoryAfter(@Param("userId") Long userId, @Param("completedAt") LocalDateTime completedAt,
+                                                  @Param("id") Long id, Pageable pageable);
 }
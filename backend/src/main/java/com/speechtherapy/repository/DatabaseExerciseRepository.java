@@ -1,9 +1,9 @@
 package com.speechtherapy.repository;
 
 import com.speechtherapy.model.DatabaseExercise;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,13 +12,18 @@ import java.util.List;
 public interface DatabaseExerciseRepository extends JpaRepository<DatabaseExercise, Long> {
     
     /**
-     * Search exercises by description or target muscles
+     * Filters on the indexed, precomputed classification columns
      */
-    @Query(value = "SELECT * FROM body_exercises WHERE " +
-           "LOWER(description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(target_muscles) LIKE LOWER(CONCAT('%', :searchTerm, '%'))", 
-           nativeQuery = true)
-    List<DatabaseExercise> searchExercises(@Param("searchTerm") String searchTerm);
+    List<DatabaseExercise> findByDerivedType(String derivedType);
     
-        // These methods will be handled in the service layer to avoid HQL compatibility issues
+    List<DatabaseExercise> findByDerivedDifficulty(String derivedDifficulty);
+    
+    List<DatabaseExercise> findByDerivedCategory(String derivedCategory);
+    
+    /**
+     * Rows whose classification columns have not been filled in yet
+     */
+    @Query("SELECT e FROM DatabaseExercise e WHERE e.derivedType IS NULL " +
+           "OR e.derivedDifficulty IS NULL OR e.derivedCategory IS NULL")
+    List<DatabaseExercise> findUnclassified(Pageable pageable);
 }
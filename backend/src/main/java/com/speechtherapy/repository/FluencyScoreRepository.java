@@ -1,7 +1,10 @@
 package com.speechtherapy.repository;
 
+import com.speechtherapy.dto.FluencyScoreEntry;
+import com.speechtherapy.dto.FluencySummary;
 import com.speechtherapy.model.FluencyScore;
 import com.speechtherapy.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,9 +19,6 @@ public interface FluencyScoreRepository extends JpaRepository<FluencyScore, Long
     
     List<FluencyScore> findByUserOrderBySessionDateDesc(User user);
     
-    List<FluencyScore> findByUserAndSessionDateBetweenOrderBySessionDateDesc(
-        User user, LocalDateTime startDate, LocalDateTime endDate);
-    
     Optional<FluencyScore> findTopByUserOrderBySessionDateDesc(User user);
     
     @Query("SELECT AVG(f.overallFluencyScore) FROM FluencyScore f WHERE f.user = :user AND f.sessionDate >= :startDate")
@@ -32,4 +32,33 @@ public interface FluencyScoreRepository extends JpaRepository<FluencyScore, Long
     
     @Query("SELECT f FROM FluencyScore f WHERE f.user = :user AND f.overallFluencyScore < :threshold ORDER BY f.sessionDate DESC")
     List<FluencyScore> findLowScoresByUser(@Param("user") User user, @Param("threshold") Integer threshold);
+    
+    // Averages and issue counts over all of a user's sessions
+    @Query("SELECT new com.speechtherapy.dto.FluencySummary(COUNT(f), " +
+           "AVG(COALESCE(f.pronunciationScore, 0) * 1.0), AVG(COALESCE(f.rhythmScore, 0) * 1.0), " +
+           "AVG(COALESCE(f.paceScore, 0) * 1.0), AVG(COALESCE(f.expressionScore, 0) * 1.0), " +
+           "AVG(COALESCE(f.overallFluencyScore, 0) * 1.0), " +
+           "SUM(CASE WHEN f.stutterDetected = true THEN 1L ELSE 0L END), " +
+           "SUM(CASE WHEN f.emotionDetected = 'nervous' THEN 1L ELSE 0L END)) " +
+           "FROM FluencyScore f WHERE f.user.id = :userId")
+    FluencySummary summarizeByUserId(@Param("userId") Long userId);
+    
+    // A user's sessions newest first, one keyset page at a time
+    String FLUENCY_SCORE_ENTRY = "SELECT new com.speechtherapy.dto.FluencyScoreEntry(f.id, f.exercise.id, f.sessionDate, " +
+        "f.pronunciationScore, f.rhythmScore, f.paceScore, f.expressionScore, f.overallFluencyScore, " +
+        "f.speakingRateWpm, f.pauseCount, f.stutterDetected, f.emotionDetected, f.feedbackNotes) " +
+        "FROM FluencyScore f WHERE f.user.id = :userId ";
+    
+    @Query(FLUENCY_SCORE_ENTRY + "ORDER BY f.sessionDate DESC, f.id DESC")
+    List<FluencyScoreEntry> findHistory(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(FLUENCY_SCORE_ENTRY + "AND (f.sessionDate < :sessionDate OR (f.sessionDate = :sessionDate AND f.id < :id)) " +
+           "ORDER BY f.sessionDate DESC, f.id DESC")
+    List<FluencyScoreEntry> findHistoryAfter(@Param("userId") Long userId, @Param("sessionDate") LocalDateTime sessionDate,
+                                             @Param("id") Long id, Pageable pageable);
+    
+    @Query(FLUENCY_SCORE_ENTRY + "AND f.sessionDate BETWEEN :startDate AND :endDate ORDER BY f.sessionDate DESC")
+    List<FluencyScoreEntry> findEntriesBySessionDateBetween(@Param("userId") Long userId,
+                                                            @Param("startDate") LocalDateTime startDate,
+                                                            @Param("endDate") LocalDateTime endDate);
 }
@@ -1,6 +1,9 @@
 package com.speechtherapy.repository;
 
+import com.speechtherapy.dto.LeaderboardEntry;
+import com.speechtherapy.dto.GameScoreEntry;
 import com.speechtherapy.model.GameScore;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,11 +11,18 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface GameScoreRepository extends JpaRepository<GameScore, Long> {
     
+    // Score rows read as DTOs; the user is only referenced by its foreign key, never joined
+    String GAME_SCORE_ENTRY_SELECT = "SELECT new com.speechtherapy.dto.GameScoreEntry(gs.id, gs.user.id, gs.gameId, " +
+        "gs.points, gs.accuracy, gs.attempts, gs.hintsUsed, gs.totalTime, gs.averageSpeed, gs.difficulty, " +
+        "gs.roundsCompleted, gs.wordsCompleted, gs.sentencesCompleted, gs.questionsCompleted, " +
+        "gs.twistersCompleted, gs.timestamp) FROM GameScore gs ";
+    
+    String GAME_SCORE_ENTRY = GAME_SCORE_ENTRY_SELECT + "WHERE gs.user.id = :userId ";
+    
     // Find all scores for a specific user
     List<GameScore> findByUserIdOrderByTimestampDesc(Long userId);
     
@@ -20,10 +30,13 @@ public interface GameScoreRepository extends JpaRepository<GameScore, Long> {
     List<GameScore> findByGameIdOrderByPointsDesc(String gameId);
     
     // Find scores for a user in a specific game
-    List<GameScore> findByUserIdAndGameIdOrderByTimestampDesc(Long userId, String gameId);
+    @Query(GAME_SCORE_ENTRY + "AND gs.gameId = :gameId ORDER BY gs.timestamp DESC")
+    List<GameScoreEntry> findEntriesByUserIdAndGameId(@Param("userId") Long userId, @Param("gameId") String gameId);
     
-    // Find the best score for a user in a specific game
-    Optional<GameScore> findTopByUserIdAndGameIdOrderByPointsDesc(Long userId, String gameId);
+    // A user's scores in a game, best first; ask for one row to get the best score
+    @Query(GAME_SCORE_ENTRY + "AND gs.gameId = :gameId ORDER BY gs.points DESC")
+    List<GameScoreEntry> findBestEntriesByUserIdAndGameId(@Param("userId") Long userId, @Param("gameId") String gameId,
+                                                          Pageable pageable);
     
     // Find all scores for a user within a date range
     List<GameScore> findByUserIdAndTimestampBetweenOrderByTimestampDesc(
@@ -38,60 +51,77 @@ public interface GameScoreRepository extends JpaRepository<GameScore, Long> {
     // Count total games played by a user
     long countByUserId(Long userId);
     
+    // Whether a user has any scores at all; stops at the first row
+    boolean existsByUserId(Long userId);
+    
     // Count games played by a user in a specific game
     long countByUserIdAndGameId(Long userId, String gameId);
     
-    // Find recent scores (last 30 days)
-    @Query("SELECT gs FROM GameScore gs WHERE gs.user.id = :userId AND gs.timestamp >= :thirtyDaysAgo ORDER BY gs.timestamp DESC")
-    List<GameScore> findRecentScoresByUserId(@Param("userId") Long userId, @Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
-    
-    // Calculate total points for a user
-    @Query("SELECT COALESCE(SUM(gs.points), 0) FROM GameScore gs WHERE gs.user.id = :userId")
-    Integer getTotalPointsByUserId(@Param("userId") Long userId);
+    // Games played by a user, counted per game in one grouped query
+    @Query("SELECT gs.gameId, COUNT(gs) FROM GameScore gs WHERE gs.user.id = :userId GROUP BY gs.gameId")
+    List<Object[]> countGamesByUserId(@Param("userId") Long userId);
     
-    // Calculate average accuracy for a user
-    @Query("SELECT COALESCE(AVG(gs.accuracy), 0) FROM GameScore gs WHERE gs.user.id = :userId AND gs.accuracy IS NOT NULL")
-    Double getAverageAccuracyByUserId(@Param("userId") Long userId);
+    // Find recent scores (last 30 days)
+    @Query(GAME_SCORE_ENTRY + "AND gs.timestamp >= :thirtyDaysAgo ORDER BY gs.timestamp DESC")
+    List<GameScoreEntry> findRecentScoresByUserId(@Param("userId") Long userId, @Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
     
-    // Find top scores across all users
-    @Query("SELECT gs FROM GameScore gs ORDER BY gs.points DESC")
-    List<GameScore> findTopScores();
+    // Leaderboard rows across all games, best first; ties go to the earlier score
+    @Query("SELECT new com.speechtherapy.dto.LeaderboardEntry(gs.id, u.id, u.name, gs.gameId, gs.points, " +
+           "gs.accuracy, gs.difficulty, gs.timestamp) FROM GameScore gs JOIN gs.user u " +
+           "ORDER BY gs.points DESC, gs.timestamp ASC, gs.id ASC")
+    List<LeaderboardEntry> findLeaderboard(Pageable pageable);
     
-    // Find top scores for a specific game
-    @Query("SELECT gs FROM GameScore gs WHERE gs.gameId = :gameId ORDER BY gs.points DESC")
-    List<GameScore> findTopScoresByGame(@Param("gameId") String gameId);
+    // Leaderboard rows for a specific game, in the same order
+    @Query("SELECT new com.speechtherapy.dto.LeaderboardEntry(gs.id, u.id, u.name, gs.gameId, gs.points, " +
+           "gs.accuracy, gs.difficulty, gs.timestamp) FROM GameScore gs JOIN gs.user u " +
+           "WHERE gs.gameId = :gameId ORDER BY gs.points DESC, gs.timestamp ASC, gs.id ASC")
+    List<LeaderboardEntry> findLeaderboardByGame(@Param("gameId") String gameId, Pageable pageable);
     
-    // Find top scores for a user
-    @Query("SELECT gs FROM GameScore gs WHERE gs.user.id = :userId ORDER BY gs.points DESC")
-    List<GameScore> findTopScoresByUserId(@Param("userId") Long userId);
+    // All game ids that have at least one score
+    @Query("SELECT DISTINCT gs.gameId FROM GameScore gs")
+    List<String> findDistinctGameIds();
     
     // Find scores with high accuracy (above threshold)
-    @Query("SELECT gs FROM GameScore gs WHERE gs.accuracy >= :threshold ORDER BY gs.accuracy DESC")
-    List<GameScore> findHighAccuracyScores(@Param("threshold") Integer threshold);
+    @Query(GAME_SCORE_ENTRY_SELECT + "WHERE gs.accuracy >= :threshold ORDER BY gs.accuracy DESC")
+    List<GameScoreEntry> findHighAccuracyScores(@Param("threshold") Integer threshold);
     
     // Find scores for a user with high accuracy
-    @Query("SELECT gs FROM GameScore gs WHERE gs.user.id = :userId AND gs.accuracy >= :threshold ORDER BY gs.accuracy DESC")
-    List<GameScore> findHighAccuracyScoresByUserId(@Param("userId") Long userId, @Param("threshold") Integer threshold);
+    @Query(GAME_SCORE_ENTRY + "AND gs.accuracy >= :threshold ORDER BY gs.accuracy DESC")
+    List<GameScoreEntry> findHighAccuracyScoresByUserId(@Param("userId") Long userId, @Param("threshold") Integer threshold);
+    
+    // Per-game totals for a user, used to rebuild the user's stats aggregate
+    @Query("SELECT gs.gameId, COUNT(gs), COALESCE(SUM(gs.points), 0), COALESCE(SUM(gs.accuracy), 0), " +
+           "COUNT(gs.accuracy), MAX(gs.points) FROM GameScore gs WHERE gs.user.id = :userId GROUP BY gs.gameId")
+    List<Object[]> getGameTotalsByUserId(@Param("userId") Long userId);
     
-    // Get game statistics for a user
-    @Query("SELECT gs.gameId, COUNT(gs), AVG(gs.points), AVG(gs.accuracy) " +
-           "FROM GameScore gs WHERE gs.user.id = :userId GROUP BY gs.gameId")
-    List<Object[]> getGameStatisticsByUserId(@Param("userId") Long userId);
+    // Per-difficulty totals for a user, in the same shape
+    @Query("SELECT gs.difficulty, COUNT(gs), COALESCE(SUM(gs.points), 0), COALESCE(SUM(gs.accuracy), 0), " +
+           "COUNT(gs.accuracy), MAX(gs.points) FROM GameScore gs " +
+           "WHERE gs.user.id = :userId AND gs.difficulty IS NOT NULL GROUP BY gs.difficulty")
+    List<Object[]> getDifficultyTotalsByUserId(@Param("userId") Long userId);
     
-    // Get difficulty statistics for a user
-    @Query("SELECT gs.difficulty, COUNT(gs), AVG(gs.points), AVG(gs.accuracy) " +
-           "FROM GameScore gs WHERE gs.user.id = :userId GROUP BY gs.difficulty")
-    List<Object[]> getDifficultyStatisticsByUserId(@Param("userId") Long userId);
+    // All users that have at least one score
+    @Query("SELECT DISTINCT gs.user.id FROM GameScore gs")
+    List<Long> findDistinctUserIds();
     
     // Find scores by date range
-    @Query("SELECT gs FROM GameScore gs WHERE gs.timestamp BETWEEN :startDate AND :endDate ORDER BY gs.timestamp DESC")
-    List<GameScore> findScoresByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    @Query(GAME_SCORE_ENTRY_SELECT + "WHERE gs.timestamp BETWEEN :startDate AND :endDate ORDER BY gs.timestamp DESC")
+    List<GameScoreEntry> findScoresByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
     // Find scores for a user by date range
-    @Query("SELECT gs FROM GameScore gs WHERE gs.user.id = :userId AND gs.timestamp BETWEEN :startDate AND :endDate ORDER BY gs.timestamp DESC")
-    List<GameScore> findScoresByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    @Query(GAME_SCORE_ENTRY + "AND gs.timestamp BETWEEN :startDate AND :endDate ORDER BY gs.timestamp DESC")
+    List<GameScoreEntry> findScoresByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
     // Delete old scores (cleanup)
     @Query("DELETE FROM GameScore gs WHERE gs.timestamp < :cutoffDate")
     void deleteOldScores(@Param("cutoffDate") LocalDateTime cutoffDate);
+    
+    // A user's scores newest first, one keyset page at a time
+    @Query(GAME_SCORE_ENTRY + "ORDER BY gs.timestamp DESC, gs.id DESC")
+    List<GameScoreEntry> findHistory(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(GAME_SCORE_ENTRY + "AND (gs.timestamp < :timestamp OR (gs.timestamp = :timestamp AND gs.id < :id)) " +
+           "ORDER BY gs.timestamp DESC, gs.id DESC")
+    List<GameScoreEntry> findHistoryAfter(@Param("userId") Long userId, @Param("timestamp") LocalDateTime timestamp,
+                                          @Param("id") Long id, Pageable pageable);
 }
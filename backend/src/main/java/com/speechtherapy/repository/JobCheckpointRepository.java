@@ -0,0 +1,13 @@
+package com.speechtherapy.repository;
+
+import com.speechtherapy.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    List<JobCheckpoint> findByJobNameAndStatus(String jobName, JobCheckpoint.Status status);
+}
@@ -1,5 +1,6 @@
 package com.speechtherapy.repository;
 
+import com.speechtherapy.dto.RedeemCodeEntry;
 import com.speechtherapy.model.RedeemCode;
 import com.speechtherapy.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,6 +15,15 @@ public interface RedeemCodeRepository extends JpaRepository<RedeemCode, Long> {
 
     @Query("select r from RedeemCode r where r.user = :user and r.pointsThreshold = :threshold")
     List<RedeemCode> findByUserAndThreshold(@Param("user") User user, @Param("threshold") Integer threshold);
+
+    String REDEEM_CODE_ENTRY = "select new com.speechtherapy.dto.RedeemCodeEntry(r.id, r.user.id, r.code, " +
+        "r.pointsThreshold, r.used, r.createdAt, r.usedAt) from RedeemCode r ";
+
+    @Query(REDEEM_CODE_ENTRY + "where r.id = :id")
+    Optional<RedeemCodeEntry> findEntryById(@Param("id") Long id);
+
+    @Query(REDEEM_CODE_ENTRY + "where r.user.id = :userId order by r.createdAt, r.id")
+    List<RedeemCodeEntry> findEntriesByUserId(@Param("userId") Long userId);
 }
 
 
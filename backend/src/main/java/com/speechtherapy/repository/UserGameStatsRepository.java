@@ -0,0 +1,24 @@
+package com.speechtherapy.repository;
+
+import com.speechtherapy.model.UserGameStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserGameStatsRepository extends JpaRepository<UserGameStats, Long> {
+
+    // Row lock so concurrent score inserts for the same user apply one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserGameStats s WHERE s.userId = :userId")
+    Optional<UserGameStats> findByIdForUpdate(@Param("userId") Long userId);
+
+    @Query("SELECT s.userId FROM UserGameStats s")
+    List<Long> findAllUserIds();
+}
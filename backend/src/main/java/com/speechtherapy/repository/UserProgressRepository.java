@@ -3,10 +3,12 @@ package com.speechtherapy.repository;
 import com.speechtherapy.model.User;
 import com.speechtherapy.model.UserProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +17,35 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
     
     Optional<UserProgress> findByUserAndPracticeDate(User user, LocalDate practiceDate);
     
+    boolean existsByUserIdAndPracticeDate(Long userId, LocalDate practiceDate);
+    
+    // Adds a batch of exercises to a day's row in one statement. The score sum and count
+    // grow by the batch's own sum and count, so concurrent batches merge exactly. The
+    // average and the goal flag come first because MySQL applies SET assignments left
+    // to right.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserProgress up SET " +
+           "up.averageScore = (COALESCE(up.score.sum, 0.0) + :scoreSum) / (COALESCE(up.score.count, 0) + :scoreCount), " +
+           "up.goalsMet = CASE WHEN up.totalPracticeTime + :minutes >= :dailyGoal THEN true ELSE false END, " +
+           "up.score.sum = COALESCE(up.score.sum, 0.0) + :scoreSum, " +
+           "up.score.count = COALESCE(up.score.count, 0) + :scoreCount, " +
+           "up.exercisesCompleted = up.exercisesCompleted + :exercises, " +
+           "up.totalPracticeTime = up.totalPracticeTime + :minutes, " +
+           "up.pointsEarned = up.pointsEarned + :points, " +
+           "up.phonemeExercises = up.phonemeExercises + :phoneme, " +
+           "up.wordExercises = up.wordExercises + :word, " +
+           "up.sentenceExercises = up.sentenceExercises + :sentence, " +
+           "up.conversationExercises = up.conversationExercises + :conversation, " +
+           "up.updatedAt = :now " +
+           "WHERE up.user.id = :userId AND up.practiceDate = :practiceDate")
+    int incrementDaily(@Param("userId") Long userId, @Param("practiceDate") LocalDate practiceDate,
+                       @Param("exercises") int exercises, @Param("minutes") int minutes,
+                       @Param("points") int points,
+                       @Param("scoreSum") double scoreSum, @Param("scoreCount") long scoreCount,
+                       @Param("phoneme") int phoneme, @Param("word") int word,
+                       @Param("sentence") int sentence, @Param("conversation") int conversation,
+                       @Param("dailyGoal") int dailyGoal, @Param("now") LocalDateTime now);
+    
     List<UserProgress> findByUserOrderByPracticeDateDesc(User user);
     
     @Query("SELECT up FROM UserProgress up WHERE up.user = :user AND up.practiceDate >= :startDate AND up.practiceDate <= :endDate ORDER BY up.practiceDate ASC")
@@ -28,6 +59,7 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
     @Query("SELECT COUNT(up) FROM UserProgress up WHERE up.user = :user AND up.goalsMet = true AND up.practiceDate >= :startDate")
     Long getGoalsMetCount(@Param("user") User user, @Param("startDate") LocalDate startDate);
     
-    @Query("SELECT AVG(up.averageScore) FROM UserProgress up WHERE up.user = :user AND up.practiceDate >= :startDate")
+    // Weighted by the number of scores each day, not a mean of daily means
+    @Query("SELECT SUM(up.score.sum) / NULLIF(SUM(up.score.count), 0) FROM UserProgress up WHERE up.user = :user AND up.practiceDate >= :startDate")
     Double getAverageScoreFromDate(@Param("user") User user, @Param("startDate") LocalDate startDate);
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.speechtherapy.repository;
 
+import com.speechtherapy.dto.UserSummary;
 import com.speechtherapy.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -12,6 +15,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
+    // Profile columns only; the password and the lazy collections are never read
+    @Query("SELECT new com.speechtherapy.dto.UserSummary(u.id, u.name, u.email, u.age, u.nativeLanguage, " +
+           "u.targetLanguage, u.difficultyLevel, u.totalPoints, u.streakDays, u.weeklyStreak, u.exercisesCompleted, " +
+           "u.dailyGoal, u.weeklyGoal, u.createdAt, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+    
     boolean existsByEmail(String email);
     
     @Query("SELECT u FROM User u WHERE u.name = :name")
@@ -19,4 +28,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u WHERE u.totalPoints >= :minPoints ORDER BY u.totalPoints DESC")
     java.util.List<User> findTopUsersByPoints(@Param("minPoints") Integer minPoints);
-}
\ No newline at end of file
+    
+    // Counter updates run in the database so concurrent writers can't lose increments
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.totalPoints = COALESCE(u.totalPoints, 0) + :points, " +
+           "u.exercisesCompleted = COALESCE(u.exercisesCompleted, 0) + :exercises, u.updatedAt = :now " +
+           "WHERE u.id = :userId")
+    int incrementTotals(@Param("userId") Long userId, @Param("points") int points,
+                        @Param("exercises") int exercises, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.streakDays = COALESCE(u.streakDays, 0) + 1, u.updatedAt = :now WHERE u.id = :userId")
+    int incrementStreak(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.streakDays = :days, u.updatedAt = :now WHERE u.id = :userId")
+    int setStreak(@Param("userId") Long userId, @Param("days") int days, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT COALESCE(u.totalPoints, 0) FROM User u WHERE u.id = :userId")
+    Integer findTotalPointsById(@Param("userId") Long userId);
+}
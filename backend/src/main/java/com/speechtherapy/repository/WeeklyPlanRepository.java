@@ -1,13 +1,17 @@
 package com.speechtherapy.repository;
 
+import com.speechtherapy.dto.WeeklyPlanEntry;
 import com.speechtherapy.model.WeeklyPlan;
 import com.speechtherapy.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -56,4 +60,45 @@ public interface WeeklyPlanRepository extends JpaRepository<WeeklyPlan, Long> {
      */
     @Query("SELECT wp FROM WeeklyPlan wp WHERE wp.user.difficultyLevel = :difficultyLevel")
     List<WeeklyPlan> findByUserDifficultyLevel(@Param("difficultyLevel") String difficultyLevel);
+    
+    /**
+     * Add to a plan's completion counters and score totals in the database and mark the
+     * plan completed once the minutes goal is reached. The flag is set first because MySQL applies
+     * SET assignments left to right.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WeeklyPlan wp SET " +
+           "wp.isCompleted = CASE WHEN wp.totalMinutesCompleted + :minutes >= wp.totalMinutesGoal THEN true ELSE wp.isCompleted END, " +
+           "wp.totalMinutesCompleted = wp.totalMinutesCompleted + :minutes, " +
+           "wp.speechExercisesCompleted = wp.speechExercisesCompleted + :speechExercises, " +
+           "wp.bodyExercisesCompleted = wp.bodyExercisesCompleted + :bodyExercises, " +
+           "wp.score.sum = COALESCE(wp.score.sum, 0.0) + :scoreSum, " +
+           "wp.score.count = COALESCE(wp.score.count, 0) + :scoreCount, " +
+           "wp.updatedAt = :now WHERE wp.id = :planId")
+    int incrementCompleted(@Param("planId") Long planId, @Param("minutes") int minutes,
+                           @Param("speechExercises") int speechExercises, @Param("bodyExercises") int bodyExercises,
+                           @Param("scoreSum") double scoreSum, @Param("scoreCount") long scoreCount,
+                           @Param("now") LocalDateTime now);
+    
+    // Plan count, completed plans and mean progress percentage (capped at 100) for a user
+    @Query("SELECT COUNT(wp), SUM(CASE WHEN wp.isCompleted = true THEN 1L ELSE 0L END), " +
+           "AVG(CASE WHEN wp.totalMinutesGoal = 0 THEN 0.0 " +
+           "WHEN wp.totalMinutesCompleted >= wp.totalMinutesGoal THEN 100.0 " +
+           "ELSE wp.totalMinutesCompleted * 100.0 / wp.totalMinutesGoal END) " +
+           "FROM WeeklyPlan wp WHERE wp.user.id = :userId")
+    List<Object[]> getHistoryStats(@Param("userId") Long userId);
+    
+    // A user's plans newest week first, one keyset page at a time
+    String WEEKLY_PLAN_ENTRY = "SELECT new com.speechtherapy.dto.WeeklyPlanEntry(wp.id, wp.weekStart, wp.weekEnd, " +
+        "wp.totalMinutesGoal, wp.totalMinutesCompleted, wp.bodyExercisesGoal, wp.bodyExercisesCompleted, " +
+        "wp.speechExercisesGoal, wp.speechExercisesCompleted, wp.weeklyStreak, wp.isCompleted) " +
+        "FROM WeeklyPlan wp WHERE wp.user.id = :userId ";
+    
+    @Query(WEEKLY_PLAN_ENTRY + "ORDER BY wp.weekStart DESC, wp.id DESC")
+    List<WeeklyPlanEntry> findHistory(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(WEEKLY_PLAN_ENTRY + "AND (wp.weekStart < :weekStart OR (wp.weekStart = :weekStart AND wp.id < :id)) " +
+           "ORDER BY wp.weekStart DESC, wp.id DESC")
+    List<WeeklyPlanEntry> findHistoryAfter(@Param("userId") Long userId, @Param("weekStart") LocalDate weekStart,
+                                           @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,69 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.model.AIExercise;
+import com.speechtherapy.repository.AIExerciseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Writes the phoneme and skill rows of AI exercises created before targets were
+ * stored one row per value, by splitting their comma-separated columns. Runs once
+ * at startup in small transactions walking the id; rows that already have their
+ * target rows are skipped, so re-running it is cheap.
+ */
+@Component
+public class AIExerciseTargetBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AIExerciseTargetBackfill.class);
+
+    private final AIExerciseRepository aiExerciseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public AIExerciseTargetBackfill(AIExerciseRepository aiExerciseRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${ai.exercise.target-backfill-chunk-size:500}") int chunkSize) {
+        this.aiExerciseRepository = aiExerciseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            int updated = backfill();
+            if (updated > 0) {
+                log.info("Backfilled phoneme and skill rows for {} AI exercises", updated);
+            }
+        } catch (Exception e) {
+            log.warn("AI exercise target backfill failed", e);
+        }
+    }
+
+    public int backfill() {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            // Walk by id, so rows whose columns hold only separators can't be picked up again
+            List<AIExercise> chunk = transactionTemplate.execute(status -> {
+                List<AIExercise> rows = aiExerciseRepository.findWithoutTargetRows(afterId, PageRequest.of(0, chunkSize));
+                rows.forEach(AIExercise::syncTargets);
+                return rows;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                return total;
+            }
+            total += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.speechtherapy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams uploaded audio into uniquely named spool files through a small pool of
+ * direct buffers, so heap use per upload stays at one buffer regardless of file size.
+ * The content hash is computed on the same pass.
+ */
+@Service
+public class AudioIngestionService {
+
+    private final Path spoolDir;
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> bufferPool;
+
+    private final Counter bytesIngested;
+    private final DistributionSummary throughput;
+    private final Timer ingestTimer;
+
+    public AudioIngestionService(MeterRegistry meterRegistry,
+                                 @Value("${speech.ingest.spool-dir:${java.io.tmpdir}}") String spoolDir,
+                                 @Value("${speech.ingest.buffer-size:65536}") int bufferSize,
+                                 @Value("${speech.ingest.buffer-pool-size:16}") int bufferPoolSize) {
+        this.spoolDir = Paths.get(spoolDir);
+        this.bufferSize = bufferSize;
+        this.bufferPool = new ArrayBlockingQueue<>(bufferPoolSize);
+
+        this.bytesIngested = Counter.builder("speech.ingest.bytes")
+            .description("Bytes of uploaded audio spooled to disk")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("speech.ingest.throughput")
+            .description("Per-upload ingestion throughput")
+            .baseUnit("bytes/s")
+            .register(meterRegistry);
+        this.ingestTimer = Timer.builder("speech.ingest.duration")
+            .description("Time spent streaming an upload to its spool file")
+            .register(meterRegistry);
+    }
+
+    public SpooledAudio spool(MultipartFile audioFile) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path target = Files.createTempFile(spoolDir, "audio_", ".wav");
+
+        long start = System.nanoTime();
+        long written = 0;
+        MessageDigest digest = newSha256();
+        ByteBuffer buffer = acquireBuffer();
+        try (InputStream in = audioFile.getInputStream();
+             ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel sink = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                buffer.mark();
+                digest.update(buffer);
+                buffer.reset();
+                while (buffer.hasRemaining()) {
+                    written += sink.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        } finally {
+            releaseBuffer(buffer);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        ingestTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        bytesIngested.increment(written);
+        if (elapsed > 0) {
+            throughput.record(written * 1_000_000_000.0 / elapsed);
+        }
+
+        return new SpooledAudio(target, written, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        // Buffers beyond the pool capacity are simply dropped
+        bufferPool.offer(buffer);
+    }
+}
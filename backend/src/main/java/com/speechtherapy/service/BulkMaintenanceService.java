@@ -0,0 +1,165 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.dto.MaintenanceResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Set-based maintenance jobs over the progress tables. Each job walks the primary
+ * key in fixed-size ranges and applies one UPDATE per range in its own short
+ * transaction, so memory and lock scope stay bounded however many users there are.
+ * Every job publishes its duration, the rows it touched and its progress while running.
+ */
+@Service
+public class BulkMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkMaintenanceService.class);
+
+    static final String DAILY_RESET = "daily-reset";
+    static final String SCORE_BACKFILL = "score-backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+
+    // Rows processed so far by the current (or last) run of each job
+    private final Map<String, AtomicLong> progress = new ConcurrentHashMap<>();
+
+    public BulkMaintenanceService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${maintenance.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Zero the daily totals of every progress row for the given date, per-type
+     * exercise counts included. Only run on request: it also discards updates
+     * already written for that day.
+     */
+    public MaintenanceResult resetDailyProgress(LocalDate date) {
+        Date practiceDate = Date.valueOf(date);
+        return runChunked(DAILY_RESET,
+            "SELECT id FROM user_progress WHERE practice_date = ? AND id > ? ORDER BY id LIMIT ?",
+            new Object[] { practiceDate },
+            "UPDATE user_progress SET total_practice_time = 0, exercises_completed = 0, average_score = 0, " +
+                "score_sum = 0, score_count = 0, points_earned = 0, phoneme_exercises = 0, word_exercises = 0, " +
+                "sentence_exercises = 0, conversation_exercises = 0, goals_met = false, updated_at = ? " +
+                "WHERE practice_date = ? AND id > ? AND id <= ?",
+            (lowerExclusive, upperInclusive) -> new Object[] {
+                Timestamp.valueOf(LocalDateTime.now()), practiceDate, lowerExclusive, upperInclusive });
+    }
+
+    /**
+     * Fill the score sum and count of progress rows written before they were kept,
+     * treating the stored average as the mean of that day's exercises. Rows that
+     * already have a count are left alone, so running it again is harmless.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public MaintenanceResult backfillScoreTotals() {
+        return runChunked(SCORE_BACKFILL,
+            "SELECT id FROM user_progress WHERE COALESCE(score_count, 0) = 0 AND exercises_completed > 0 " +
+                "AND id > ? ORDER BY id LIMIT ?",
+            new Object[0],
+            "UPDATE user_progress SET score_sum = COALESCE(average_score, 0) * exercises_completed, " +
+                "score_count = exercises_completed " +
+                "WHERE COALESCE(score_count, 0) = 0 AND exercises_completed > 0 AND id > ? AND id <= ?",
+            (lowerExclusive, upperInclusive) -> new Object[] { lowerExclusive, upperInclusive });
+    }
+
+    /**
+     * Walk the ids selected by {@code idQuery} in chunks and run {@code updateSql} once
+     * per id range. {@code idQuery} takes the selection arguments followed by the last
+     * id seen and the chunk size; the update arguments are built per range.
+     */
+    MaintenanceResult runChunked(String job, String idQuery, Object[] selectionArgs,
+                                 String updateSql, RangeArguments updateArgs) {
+        AtomicLong processed = progressFor(job);
+        processed.set(0);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        long rows = 0;
+        int chunks = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(idQuery, Long.class, append(selectionArgs, lastId, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            long lower = lastId;
+            long upper = ids.get(ids.size() - 1);
+            Integer updated = transactionTemplate.execute(status ->
+                jdbcTemplate.update(updateSql, updateArgs.forRange(lower, upper)));
+            rows += updated != null ? updated : 0;
+            chunks++;
+            processed.set(rows);
+            lastId = upper;
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        long nanos = sample.stop(Timer.builder("maintenance.job.duration")
+            .description("Duration of bulk maintenance job runs")
+            .tag("job", job)
+            .register(meterRegistry));
+        Counter.builder("maintenance.job.rows")
+            .description("Rows updated by bulk maintenance jobs")
+            .tag("job", job)
+            .register(meterRegistry)
+            .increment(rows);
+
+        MaintenanceResult result = new MaintenanceResult(job, rows, chunks, nanos / 1_000_000);
+        log.info("Maintenance job {} updated {} rows in {} chunks ({} ms)", job, rows, chunks, result.durationMs());
+        return result;
+    }
+
+    private AtomicLong progressFor(String job) {
+        return progress.computeIfAbsent(job, name -> {
+            AtomicLong counter = new AtomicLong();
+            Gauge.builder("maintenance.job.progress", counter, AtomicLong::get)
+                .description("Rows processed so far by the current or last run of a maintenance job")
+                .tag("job", name)
+                .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private static Object[] append(Object[] args, Object... extra) {
+        Object[] combined = new Object[args.length + extra.length];
+        System.arraycopy(args, 0, combined, 0, args.length);
+        System.arraycopy(extra, 0, combined, args.length, extra.length);
+        return combined;
+    }
+
+    /**
+     * Builds the UPDATE arguments for one id range.
+     */
+    @FunctionalInterface
+    interface RangeArguments {
+        Object[] forRange(long lowerExclusive, long upperInclusive);
+    }
+}
@@ -121,9 +121,8 @@ public class CompletedExerciseService {
         // Get this week's completed exercises
         LocalDate weekStart = LocalDate.now().with(java.time.DayOfWeek.MONDAY);
         LocalDate weekEnd = weekStart.plusDays(6);
-        List<CompletedExercise> weekExercises = completedExerciseRepository.findByUserAndPracticeDateBetweenOrderByCompletedAtDesc(
-            userOpt.get(), weekStart, weekEnd);
-        stats.put("weekCompleted", weekExercises.size());
+        stats.put("weekCompleted", completedExerciseRepository.countByUserAndPracticeDateBetween(
+            userOpt.get(), weekStart, weekEnd));
         
         return stats;
     }
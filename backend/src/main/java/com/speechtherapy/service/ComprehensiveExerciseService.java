@@ -17,6 +17,9 @@ public class ComprehensiveExerciseService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired
+    private ExerciseSearchService exerciseSearchService;
+    
     /**
      * Get all exercises from all tables
      */
@@ -94,7 +97,7 @@ public class ComprehensiveExerciseService {
             exercisesByDifficulty.put("advanced", new ArrayList<>());
             
             for (DatabaseExercise exercise : bodyExercises) {
-                String difficulty = getDifficultyLevel(exercise);
+                String difficulty = exercise.getDifficultyLevel();
                 if (exercisesByDifficulty.containsKey(difficulty)) {
                     exercisesByDifficulty.get(difficulty).add(exercise);
                 }
@@ -125,10 +128,7 @@ public class ComprehensiveExerciseService {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            List<DatabaseExercise> allExercises = bodyExerciseRepository.findAll();
-            List<DatabaseExercise> filteredExercises = allExercises.stream()
-                .filter(exercise -> getExerciseType(exercise).equals(type))
-                .collect(java.util.stream.Collectors.toList());
+            List<DatabaseExercise> filteredExercises = bodyExerciseRepository.findByDerivedType(type);
             
             result.put("success", true);
             result.put("exercise_type", type);
@@ -150,10 +150,7 @@ public class ComprehensiveExerciseService {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            List<DatabaseExercise> allExercises = bodyExerciseRepository.findAll();
-            List<DatabaseExercise> filteredExercises = allExercises.stream()
-                .filter(exercise -> getDifficultyLevel(exercise).equals(difficulty))
-                .collect(java.util.stream.Collectors.toList());
+            List<DatabaseExercise> filteredExercises = bodyExerciseRepository.findByDerivedDifficulty(difficulty);
             
             result.put("success", true);
             result.put("difficulty_level", difficulty);
@@ -169,19 +166,13 @@ public class ComprehensiveExerciseService {
     }
     
     /**
-     * Search exercises across all fields
+     * Search exercises across name, target muscles and description, best match first
      */
     public Map<String, Object> searchExercises(String searchTerm) {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            List<DatabaseExercise> allExercises = bodyExerciseRepository.findAll();
-            List<DatabaseExercise> filteredExercises = allExercises.stream()
-                .filter(exercise -> 
-                    (exercise.getDescription() != null && exercise.getDescription().toLowerCase().contains(searchTerm.toLowerCase())) ||
-                    (exercise.getTargetMuscles() != null && exercise.getTargetMuscles().toLowerCase().contains(searchTerm.toLowerCase()))
-                )
-                .collect(java.util.stream.Collectors.toList());
+            List<DatabaseExercise> filteredExercises = exerciseSearchService.search(searchTerm);
             
             result.put("success", true);
             result.put("search_term", searchTerm);
@@ -205,21 +196,21 @@ public class ComprehensiveExerciseService {
         // Count by difficulty
         Map<String, Long> difficultyCounts = exercises.stream()
             .collect(HashMap::new, (map, exercise) -> {
-                String difficulty = getDifficultyLevel(exercise);
+                String difficulty = exercise.getDifficultyLevel();
                 map.put(difficulty, map.getOrDefault(difficulty, 0L) + 1);
             }, HashMap::putAll);
         
         // Count by type
         Map<String, Long> typeCounts = exercises.stream()
             .collect(HashMap::new, (map, exercise) -> {
-                String type = getExerciseType(exercise);
+                String type = exercise.getExerciseType();
                 map.put(type, map.getOrDefault(type, 0L) + 1);
             }, HashMap::putAll);
         
         // Count by category
         Map<String, Long> categoryCounts = exercises.stream()
             .collect(HashMap::new, (map, exercise) -> {
-                String category = getCategoryFromTargetMuscles(exercise.getTargetMuscles());
+                String category = exercise.getCategory();
                 map.put(category, map.getOrDefault(category, 0L) + 1);
             }, HashMap::putAll);
         
@@ -230,37 +221,4 @@ public class ComprehensiveExerciseService {
         
         return stats;
     }
-    
-    /**
-     * Helper methods for determining exercise properties
-     */
-    private String getDifficultyLevel(DatabaseExercise exercise) {
-        String desc = exercise.getDescription() != null ? exercise.getDescription().toLowerCase() : "";
-        if (desc.contains("advanced") || desc.contains("complex")) return "advanced";
-        if (desc.contains("intermediate") || desc.contains("moderate")) return "intermediate";
-        return "beginner";
-    }
-    
-    private String getExerciseType(DatabaseExercise exercise) {
-        String desc = exercise.getDescription() != null ? exercise.getDescription().toLowerCase() : "";
-        if (desc.contains("breathing")) return "breathing";
-        if (desc.contains("facial")) return "facial";
-        if (desc.contains("jaw")) return "jaw";
-        if (desc.contains("tongue")) return "tongue";
-        if (desc.contains("vocal")) return "vocal";
-        if (desc.contains("relaxation")) return "relaxation";
-        return "general";
-    }
-    
-    private String getCategoryFromTargetMuscles(String targetMuscles) {
-        if (targetMuscles == null) return "General Speech Training";
-        
-        String muscles = targetMuscles.toLowerCase();
-        if (muscles.contains("diaphragm") || muscles.contains("lungs")) return "Breathing & Voice Control";
-        if (muscles.contains("facial") || muscles.contains("lips")) return "Facial Muscle Training";
-        if (muscles.contains("jaw")) return "Jaw & Mouth Control";
-        if (muscles.contains("tongue")) return "Tongue & Articulation";
-        if (muscles.contains("vocal")) return "Vocal & Resonance";
-        return "General Speech Training";
-    }
 }
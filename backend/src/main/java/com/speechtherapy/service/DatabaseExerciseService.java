@@ -1,11 +1,21 @@
 package com.speechtherapy.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.speechtherapy.model.BodyExercise;
+import com.speechtherapy.model.DatabaseExercise;
 import com.speechtherapy.repository.BodyExerciseRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,6 +28,25 @@ public class DatabaseExerciseService {
     @Autowired
     private BodyExerciseRepository bodyExerciseRepository;
     
+    @Autowired
+    private ExerciseSampler exerciseSampler;
+    
+    @Autowired
+    private ExerciseSearchService exerciseSearchService;
+    
+    @Value("${exercise.sampling.id-index-ttl-minutes:10}")
+    private long idIndexTtlMinutes;
+    
+    // Ids of the exercises table per difficulty level, reloaded after the TTL
+    private LoadingCache<String, long[]> idsByDifficulty;
+    
+    @PostConstruct
+    void initIdIndex() {
+        idsByDifficulty = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(idIndexTtlMinutes))
+            .build(this::loadIdsForDifficulty);
+    }
+    
     /**
      * Fetch all exercises from the speech_therapy database
      */
@@ -59,21 +88,10 @@ public class DatabaseExerciseService {
     }
     
     /**
-     * Fetch exercises with pagination from the speech_therapy database
+     * Search exercises by name, target muscles or description, best match first
      */
-    public List<Map<String, Object>> fetchExercisesWithPagination(int page, int size) {
-        int offset = page * size;
-        String sql = "SELECT * FROM exercises LIMIT ? OFFSET ?";
-        return jdbcTemplate.queryForList(sql, size, offset);
-    }
-    
-    /**
-     * Search exercises by name or description from the speech_therapy database
-     */
-    public List<Map<String, Object>> searchExercises(String searchTerm) {
-        String sql = "SELECT * FROM exercises WHERE exercise_name LIKE ? OR description LIKE ?";
-        String likePattern = "%" + searchTerm + "%";
-        return jdbcTemplate.queryForList(sql, likePattern, likePattern);
+    public List<DatabaseExercise> searchExercises(String searchTerm) {
+        return exerciseSearchService.search(searchTerm);
     }
     
     /**
@@ -90,11 +108,37 @@ public class DatabaseExerciseService {
     }
     
     /**
-     * Fetch exercises for a specific user's level
+     * Fetch 10 random exercises for a specific user's level. Ids are sampled from the
+     * cached id index of that level and the rows read by primary key, so the table is
+     * never scanned and sorted per call.
      */
     public List<Map<String, Object>> fetchExercisesForUserLevel(String userLevel) {
-        String sql = "SELECT * FROM exercises WHERE difficulty_level = ? ORDER BY RAND() LIMIT 10";
-        return jdbcTemplate.queryForList(sql, userLevel);
+        long[] ids = exerciseSampler.sampleIds(idsByDifficulty.get(userLevel), 10);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.length, "?"));
+        String sql = "SELECT * FROM exercises WHERE id IN (" + placeholders + ")";
+        Map<Long, Map<String, Object>> rowsById = new HashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql, Arrays.stream(ids).boxed().toArray())) {
+            rowsById.put(((Number) row.get("id")).longValue(), row);
+        }
+        // Keep the sampled order; ids deleted since the index was loaded are skipped
+        List<Map<String, Object>> sampled = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Map<String, Object> row = rowsById.get(id);
+            if (row != null) {
+                sampled.add(row);
+            }
+        }
+        return sampled;
+    }
+    
+    private long[] loadIdsForDifficulty(String difficultyLevel) {
+        String sql = "SELECT id FROM exercises WHERE difficulty_level = ? ORDER BY id";
+        return jdbcTemplate.queryForList(sql, Long.class, difficultyLevel).stream()
+            .mapToLong(Long::longValue)
+            .toArray();
     }
     
     /**
@@ -0,0 +1,173 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.dto.CursorPage;
+import com.speechtherapy.dto.IdCursor;
+import com.speechtherapy.model.DatabaseExercise;
+import com.speechtherapy.repository.DatabaseExerciseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory snapshot of the body exercise catalog with its type, difficulty and
+ * category indexes precomputed. Readers get the current immutable {@link Snapshot}
+ * without locking; {@link #refresh()} builds a new snapshot and swaps it in.
+ */
+@Component
+public class ExerciseCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ExerciseCatalog.class);
+
+    public static final List<String> DIFFICULTY_LEVELS = List.of("beginner", "intermediate", "advanced");
+
+    private final DatabaseExerciseRepository databaseExerciseRepository;
+    private final Timer rebuildTimer;
+
+    private volatile Snapshot snapshot;
+
+    public ExerciseCatalog(DatabaseExerciseRepository databaseExerciseRepository, MeterRegistry meterRegistry) {
+        this.databaseExerciseRepository = databaseExerciseRepository;
+        this.rebuildTimer = Timer.builder("exercise.catalog.rebuild")
+            .description("Time taken to rebuild the exercise catalog snapshot")
+            .register(meterRegistry);
+        Gauge.builder("exercise.catalog.size", this, catalog -> {
+                Snapshot current = catalog.snapshot;
+                return current != null ? current.size() : 0;
+            })
+            .description("Exercises in the current catalog snapshot")
+            .register(meterRegistry);
+    }
+
+    // CommandLineRunner seeders have finished by the time the application is ready,
+    // and the classification backfill runs first
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void onApplicationReady() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Could not build exercise catalog at startup, will retry on first use", e);
+        }
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = refresh();
+                }
+            }
+        }
+        return current;
+    }
+
+    public synchronized Snapshot refresh() {
+        Snapshot rebuilt = rebuildTimer.record(() -> Snapshot.of(databaseExerciseRepository.findAll()));
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    public static final class Snapshot {
+        private final List<DatabaseExercise> exercises;
+        private final Map<String, List<DatabaseExercise>> byDifficulty;
+        private final Map<String, List<DatabaseExercise>> byType;
+        private final Map<String, List<DatabaseExercise>> byCategory;
+
+        private Snapshot(List<DatabaseExercise> exercises,
+                         Map<String, List<DatabaseExercise>> byDifficulty,
+                         Map<String, List<DatabaseExercise>> byType,
+                         Map<String, List<DatabaseExercise>> byCategory) {
+            this.exercises = exercises;
+            this.byDifficulty = byDifficulty;
+            this.byType = byType;
+            this.byCategory = byCategory;
+        }
+
+        static Snapshot of(List<DatabaseExercise> unordered) {
+            // Id order throughout, so every list can be paged by id
+            List<DatabaseExercise> source = new ArrayList<>(unordered);
+            source.sort(Comparator.comparing(DatabaseExercise::getId));
+
+            Map<String, List<DatabaseExercise>> byDifficulty = new LinkedHashMap<>();
+            DIFFICULTY_LEVELS.forEach(level -> byDifficulty.put(level, new ArrayList<>()));
+            Map<String, List<DatabaseExercise>> byType = new LinkedHashMap<>();
+            Map<String, List<DatabaseExercise>> byCategory = new LinkedHashMap<>();
+
+            // Classifications are read from the stored derived columns
+            for (DatabaseExercise exercise : source) {
+                byDifficulty.computeIfAbsent(exercise.getDifficultyLevel(), k -> new ArrayList<>()).add(exercise);
+                byType.computeIfAbsent(exercise.getExerciseType(), k -> new ArrayList<>()).add(exercise);
+                byCategory.computeIfAbsent(exercise.getCategory(), k -> new ArrayList<>()).add(exercise);
+            }
+
+            return new Snapshot(List.copyOf(source), freeze(byDifficulty), freeze(byType), freeze(byCategory));
+        }
+
+        private static Map<String, List<DatabaseExercise>> freeze(Map<String, List<DatabaseExercise>> index) {
+            Map<String, List<DatabaseExercise>> frozen = new LinkedHashMap<>();
+            index.forEach((key, list) -> frozen.put(key, List.copyOf(list)));
+            return Collections.unmodifiableMap(frozen);
+        }
+
+        public int size() { return exercises.size(); }
+
+        public List<DatabaseExercise> getAll() { return exercises; }
+
+        public Map<String, List<DatabaseExercise>> getByDifficulty() { return byDifficulty; }
+
+        public Map<String, List<DatabaseExercise>> getByType() { return byType; }
+
+        public Map<String, List<DatabaseExercise>> getByCategory() { return byCategory; }
+
+        public List<DatabaseExercise> withDifficulty(String difficulty) {
+            return byDifficulty.getOrDefault(difficulty, List.of());
+        }
+
+        public List<DatabaseExercise> withType(String type) {
+            return byType.getOrDefault(type, List.of());
+        }
+
+        public List<DatabaseExercise> inCategory(String category) {
+            return byCategory.getOrDefault(category, List.of());
+        }
+
+        /**
+         * The page of {@code exercises} (one of this snapshot's id-ordered lists) that
+         * starts after {@code after}, found by binary search on the id.
+         */
+        public static CursorPage<DatabaseExercise> page(List<DatabaseExercise> exercises, IdCursor after, int size) {
+            long afterId = IdCursor.lastIdOf(after);
+            int low = 0;
+            int high = exercises.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (exercises.get(mid).getId() <= afterId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int end = Math.min(exercises.size(), low + size);
+            List<DatabaseExercise> items = exercises.subList(low, end);
+            if (end == exercises.size()) {
+                return new CursorPage<>(items, null, false);
+            }
+            return new CursorPage<>(items, new IdCursor(items.get(items.size() - 1).getId()).encode(), true);
+        }
+    }
+}
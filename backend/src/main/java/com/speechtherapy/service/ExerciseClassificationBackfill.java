@@ -0,0 +1,70 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.model.DatabaseExercise;
+import com.speechtherapy.repository.DatabaseExerciseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills in the derived type/difficulty/category columns of body exercises that were
+ * written before those columns existed, or through the {@code BodyExercise} mapping
+ * of the same table. Runs once at startup in small transactions; rows that are
+ * already classified are skipped, so re-running it is cheap.
+ */
+@Component
+public class ExerciseClassificationBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(ExerciseClassificationBackfill.class);
+
+    private final DatabaseExerciseRepository databaseExerciseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ExerciseClassificationBackfill(DatabaseExerciseRepository databaseExerciseRepository,
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${exercise.classification.backfill-chunk-size:500}") int chunkSize) {
+        this.databaseExerciseRepository = databaseExerciseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    // Run before the exercise catalog snapshot is built
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void onApplicationReady() {
+        try {
+            int updated = backfill();
+            if (updated > 0) {
+                log.info("Backfilled derived classifications for {} body exercises", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Exercise classification backfill failed", e);
+        }
+    }
+
+    public int backfill() {
+        int total = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> {
+                // Classified rows drop out of the query, so the first page is always the next chunk
+                List<DatabaseExercise> chunk = databaseExerciseRepository.findUnclassified(PageRequest.of(0, chunkSize));
+                chunk.forEach(DatabaseExercise::classify);
+                databaseExerciseRepository.saveAll(chunk);
+                return chunk.size();
+            });
+            if (updated == null || updated == 0) {
+                return total;
+            }
+            total += updated;
+        }
+    }
+}
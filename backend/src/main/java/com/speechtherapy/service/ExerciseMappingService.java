@@ -1,19 +1,32 @@
 package com.speechtherapy.service;
 
+import com.speechtherapy.dto.CursorPage;
+import com.speechtherapy.dto.IdCursor;
 import com.speechtherapy.model.DatabaseExercise;
 import com.speechtherapy.repository.DatabaseExerciseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.HashSet;
 
 @Service
 public class ExerciseMappingService {
     
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 200;
+    
     @Autowired
     private DatabaseExerciseRepository databaseExerciseRepository;
     
+    @Autowired
+    private ExerciseCatalog exerciseCatalog;
+    
+    @Autowired
+    private ExerciseSampler exerciseSampler;
+    
+    @Autowired
+    private ExerciseSearchService exerciseSearchService;
+    
     /**
      * Map exercises to proper difficulty levels and categories
      */
@@ -21,28 +34,16 @@ public class ExerciseMappingService {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            // Get all exercises from database
-            List<DatabaseExercise> allExercises = databaseExerciseRepository.findAll();
-            
-            // Map exercises by difficulty level
-            Map<String, List<DatabaseExercise>> exercisesByDifficulty = mapExercisesByDifficulty(allExercises);
-            
-            // Map exercises by type
-            Map<String, List<DatabaseExercise>> exercisesByType = mapExercisesByType(allExercises);
-            
-            // Map exercises by category
-            Map<String, List<DatabaseExercise>> exercisesByCategory = mapExercisesByCategory(allExercises);
-            
-            // Get exercise statistics
-            Map<String, Object> statistics = getExerciseStatistics(allExercises);
+            // Indexes are precomputed in the catalog snapshot
+            ExerciseCatalog.Snapshot catalog = exerciseCatalog.current();
             
             result.put("success", true);
-            result.put("total_exercises", allExercises.size());
-            result.put("exercises_by_difficulty", exercisesByDifficulty);
-            result.put("exercises_by_type", exercisesByType);
-            result.put("exercises_by_category", exercisesByCategory);
-            result.put("statistics", statistics);
-            result.put("message", "Successfully mapped " + allExercises.size() + " exercises");
+            result.put("total_exercises", catalog.size());
+            result.put("exercises_by_difficulty", catalog.getByDifficulty());
+            result.put("exercises_by_type", catalog.getByType());
+            result.put("exercises_by_category", catalog.getByCategory());
+            result.put("statistics", getExerciseStatistics(catalog));
+            result.put("message", "Successfully mapped " + catalog.size() + " exercises");
             
         } catch (Exception e) {
             result.put("success", false);
@@ -54,326 +55,160 @@ public class ExerciseMappingService {
     }
     
     /**
-     * Map exercises by difficulty level
-     */
-    private Map<String, List<DatabaseExercise>> mapExercisesByDifficulty(List<DatabaseExercise> exercises) {
-        Map<String, List<DatabaseExercise>> mapped = new HashMap<>();
-        
-        // Initialize difficulty levels
-        mapped.put("beginner", new ArrayList<>());
-        mapped.put("intermediate", new ArrayList<>());
-        mapped.put("advanced", new ArrayList<>());
-        
-        for (DatabaseExercise exercise : exercises) {
-            String difficulty = getDifficultyLevel(exercise);
-            if (mapped.containsKey(difficulty)) {
-                mapped.get(difficulty).add(exercise);
-            }
-        }
-        
-        return mapped;
-    }
-    
-    /**
-     * Map exercises by type
+     * Get all exercises
      */
-    private Map<String, List<DatabaseExercise>> mapExercisesByType(List<DatabaseExercise> exercises) {
-        Map<String, List<DatabaseExercise>> mapped = new HashMap<>();
-        
-        for (DatabaseExercise exercise : exercises) {
-            String type = getExerciseType(exercise);
-            if (!mapped.containsKey(type)) {
-                mapped.put(type, new ArrayList<>());
-            }
-            mapped.get(type).add(exercise);
-        }
-        
-        return mapped;
+    public List<DatabaseExercise> getAllExercises() {
+        return exerciseCatalog.current().getAll();
     }
     
     /**
-     * Map exercises by category
+     * Get exercises for specific difficulty level
      */
-    private Map<String, List<DatabaseExercise>> mapExercisesByCategory(List<DatabaseExercise> exercises) {
-        Map<String, List<DatabaseExercise>> mapped = new HashMap<>();
-        
-        for (DatabaseExercise exercise : exercises) {
-            String category = getExerciseCategory(exercise);
-            if (!mapped.containsKey(category)) {
-                mapped.put(category, new ArrayList<>());
-            }
-            mapped.get(category).add(exercise);
-        }
-        
-        return mapped;
+    public List<DatabaseExercise> getExercisesByDifficulty(String difficulty) {
+        return exerciseCatalog.current().withDifficulty(difficulty);
     }
     
     /**
-     * Determine difficulty level based on exercise data
+     * Get exercises for specific type
      */
-    private String getDifficultyLevel(DatabaseExercise exercise) {
-        // Determine difficulty based on exercise characteristics
-        String description = exercise.getDescription() != null ? 
-            exercise.getDescription().toLowerCase() : "";
-        
-        // Advanced exercises
-        if (description.contains("advanced") || description.contains("complex") ||
-            description.contains("mastery") || description.contains("professional")) {
-            return "advanced";
-        }
-        
-        // Intermediate exercises
-        if (description.contains("intermediate") || description.contains("moderate") ||
-            description.contains("progressive") || description.contains("enhanced")) {
-            return "intermediate";
-        }
-        
-        // Beginner exercises (default)
-        return "beginner";
+    public List<DatabaseExercise> getExercisesByType(String type) {
+        return exerciseCatalog.current().withType(type);
     }
     
     /**
-     * Determine exercise type
+     * Get exercises for specific category
      */
-    private String getExerciseType(DatabaseExercise exercise) {
-        // Determine type based on description
-        String description = exercise.getDescription() != null ? 
-            exercise.getDescription().toLowerCase() : "";
-        
-        if (description.contains("breathing")) {
-            return "breathing";
-        } else if (description.contains("facial")) {
-            return "facial";
-        } else if (description.contains("jaw")) {
-            return "jaw";
-        } else if (description.contains("tongue")) {
-            return "tongue";
-        } else if (description.contains("vocal")) {
-            return "vocal";
-        } else if (description.contains("relaxation")) {
-            return "relaxation";
-        } else if (description.contains("phoneme")) {
-            return "phoneme";
-        } else if (description.contains("word")) {
-            return "word";
-        } else if (description.contains("sentence")) {
-            return "sentence";
-        } else if (description.contains("conversation")) {
-            return "conversation";
-        } else if (description.contains("tongue twister")) {
-            return "tongue_twister";
-        }
-        
-        return "general";
+    public List<DatabaseExercise> getExercisesByCategory(String category) {
+        return exerciseCatalog.current().inCategory(category);
     }
     
     /**
-     * Determine exercise category
+     * One page of the catalog in id order, continuing after {@code pageToken}.
+     * Type, difficulty and category narrow the listing when given.
      */
-    private String getExerciseCategory(DatabaseExercise exercise) {
-        // Determine category based on target muscles
-        String targetMuscles = exercise.getTargetMuscles() != null ? 
-            exercise.getTargetMuscles().toLowerCase() : "";
-        
-        if (targetMuscles.contains("diaphragm") || targetMuscles.contains("lungs")) {
-            return "Breathing & Voice Control";
-        } else if (targetMuscles.contains("facial") || targetMuscles.contains("lips")) {
-            return "Facial Muscle Training";
-        } else if (targetMuscles.contains("jaw")) {
-            return "Jaw & Mouth Control";
-        } else if (targetMuscles.contains("tongue")) {
-            return "Tongue & Articulation";
-        } else if (targetMuscles.contains("vocal")) {
-            return "Vocal & Resonance";
-        } else if (targetMuscles.contains("relaxation")) {
-            return "Relaxation & Stress Relief";
+    public CursorPage<DatabaseExercise> getExercisesPage(String type, String difficulty, String category,
+                                                         String pageToken, Integer size) {
+        ExerciseCatalog.Snapshot catalog = exerciseCatalog.current();
+        List<DatabaseExercise> listing;
+        if (type != null) {
+            listing = catalog.withType(type);
+        } else if (difficulty != null) {
+            listing = catalog.withDifficulty(difficulty);
+        } else if (category != null) {
+            listing = catalog.inCategory(category);
+        } else {
+            listing = catalog.getAll();
         }
-        
-        // Determine category based on type as fallback
-        String type = getExerciseType(exercise);
-        
-        if (type.equals("breathing")) {
-            return "Breathing & Voice Control";
-        } else if (type.equals("facial")) {
-            return "Facial Muscle Training";
-        } else if (type.equals("jaw")) {
-            return "Jaw & Mouth Control";
-        } else if (type.equals("tongue")) {
-            return "Tongue & Articulation";
-        } else if (type.equals("vocal")) {
-            return "Vocal & Resonance";
-        } else if (type.equals("relaxation")) {
-            return "Relaxation & Stress Relief";
-        } else if (type.equals("phoneme")) {
-            return "Phoneme Practice";
-        } else if (type.equals("word")) {
-            return "Word Pronunciation";
-        } else if (type.equals("sentence")) {
-            return "Sentence Fluency";
-        } else if (type.equals("conversation")) {
-            return "Conversational Skills";
-        } else if (type.equals("tongue_twister")) {
-            return "Tongue Twisters";
+        // Further filters keep the id order of the index they start from
+        if ((type != null && difficulty != null) || ((type != null || difficulty != null) && category != null)) {
+            listing = listing.stream()
+                .filter(e -> difficulty == null || difficulty.equals(e.getDifficultyLevel()))
+                .filter(e -> category == null || category.equals(e.getCategory()))
+                .toList();
         }
-        
-        return "General Speech Training";
+        return page(listing, pageToken, size);
     }
     
     /**
-     * Get all exercises
+     * Page through a listing taken from the catalog, which is always in id order
      */
-    public List<DatabaseExercise> getAllExercises() {
-        return databaseExerciseRepository.findAll();
+    public CursorPage<DatabaseExercise> page(List<DatabaseExercise> listing, String pageToken, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+        return ExerciseCatalog.Snapshot.page(listing, IdCursor.decode(pageToken), pageSize);
     }
     
     /**
-     * Get exercises for specific difficulty level
-     */
-    public List<DatabaseExercise> getExercisesByDifficulty(String difficulty) {
-        // Since body_exercises might not have difficulty_level, we'll determine it from other fields
-        List<DatabaseExercise> allExercises = databaseExerciseRepository.findAll();
-        return allExercises.stream()
-            .filter(exercise -> getDifficultyLevel(exercise).equals(difficulty))
-            .collect(java.util.stream.Collectors.toList());
-    }
-    
-    /**
-     * Get exercises for specific type
-     */
-    public List<DatabaseExercise> getExercisesByType(String type) {
-        // Since body_exercises might not have exercise_type, we'll determine it from other fields
-        List<DatabaseExercise> allExercises = databaseExerciseRepository.findAll();
-        return allExercises.stream()
-            .filter(exercise -> getExerciseType(exercise).equals(type))
-            .collect(java.util.stream.Collectors.toList());
-    }
-    
-    /**
-     * Get exercises for specific category
+     * Search exercises, best match first
      */
-    public List<DatabaseExercise> getExercisesByCategory(String category) {
-        // Since body_exercises might not have category, we'll determine it from other fields
-        List<DatabaseExercise> allExercises = databaseExerciseRepository.findAll();
-        return allExercises.stream()
-            .filter(exercise -> getExerciseCategory(exercise).equals(category))
-            .collect(java.util.stream.Collectors.toList());
+    public List<DatabaseExercise> searchExercises(String searchTerm) {
+        return exerciseSearchService.search(searchTerm);
     }
     
     /**
-     * Search exercises
+     * Get recommended exercises for user level
      */
-    public List<DatabaseExercise> searchExercises(String searchTerm) {
-        return databaseExerciseRepository.searchExercises(searchTerm);
+    public List<DatabaseExercise> getRecommendedExercises(String userLevel, int limit) {
+        return getRecommendedExercises(userLevel, limit, null);
     }
     
     /**
-     * Get recommended exercises for user level
+     * Get recommended exercises for user level; a non-null seed makes the pick reproducible
      */
-    public List<DatabaseExercise> getRecommendedExercises(String userLevel, int limit) {
-        // Get exercises matching user level
-        List<DatabaseExercise> levelExercises = getExercisesByDifficulty(userLevel);
+    public List<DatabaseExercise> getRecommendedExercises(String userLevel, int limit, Long seed) {
+        // Sample from a single snapshot's difficulty indexes rather than shuffling copies
+        ExerciseCatalog.Snapshot catalog = exerciseCatalog.current();
         
         // If not enough exercises, add some from adjacent levels
-        if (levelExercises.size() < limit) {
-            if (userLevel.equals("beginner")) {
-                levelExercises.addAll(getExercisesByDifficulty("intermediate"));
-            } else if (userLevel.equals("intermediate")) {
-                levelExercises.addAll(getExercisesByDifficulty("beginner"));
-                levelExercises.addAll(getExercisesByDifficulty("advanced"));
-            } else if (userLevel.equals("advanced")) {
-                levelExercises.addAll(getExercisesByDifficulty("intermediate"));
-            }
+        List<List<DatabaseExercise>> adjacent = new ArrayList<>();
+        if (userLevel.equals("beginner")) {
+            adjacent.add(catalog.withDifficulty("intermediate"));
+        } else if (userLevel.equals("intermediate")) {
+            adjacent.add(catalog.withDifficulty("beginner"));
+            adjacent.add(catalog.withDifficulty("advanced"));
+        } else if (userLevel.equals("advanced")) {
+            adjacent.add(catalog.withDifficulty("intermediate"));
         }
         
-        // Shuffle and limit
-        Collections.shuffle(levelExercises);
-        return levelExercises.subList(0, Math.min(limit, levelExercises.size()));
+        return exerciseSampler.sampleWithFallback(catalog.withDifficulty(userLevel), adjacent, limit, seed);
     }
     
     /**
      * Get exercise statistics
      */
     public Map<String, Object> getExerciseStatistics() {
-        List<DatabaseExercise> allExercises = databaseExerciseRepository.findAll();
-        return getExerciseStatistics(allExercises);
+        return getExerciseStatistics(exerciseCatalog.current());
     }
     
     /**
-     * Get exercise statistics from a list of exercises
+     * Get exercise statistics from the index sizes of a catalog snapshot
      */
-    private Map<String, Object> getExerciseStatistics(List<DatabaseExercise> exercises) {
+    private Map<String, Object> getExerciseStatistics(ExerciseCatalog.Snapshot catalog) {
         Map<String, Object> stats = new HashMap<>();
         
-        // Count by difficulty
-        Map<String, Long> difficultyCounts = exercises.stream()
-            .collect(HashMap::new, (map, exercise) -> {
-                String difficulty = getDifficultyLevel(exercise);
-                map.put(difficulty, map.getOrDefault(difficulty, 0L) + 1);
-            }, HashMap::putAll);
-        
-        // Count by type
-        Map<String, Long> typeCounts = exercises.stream()
-            .collect(HashMap::new, (map, exercise) -> {
-                String type = getExerciseType(exercise);
-                map.put(type, map.getOrDefault(type, 0L) + 1);
-            }, HashMap::putAll);
-        
-        // Count by category
-        Map<String, Long> categoryCounts = exercises.stream()
-            .collect(HashMap::new, (map, exercise) -> {
-                String category = getExerciseCategory(exercise);
-                map.put(category, map.getOrDefault(category, 0L) + 1);
-            }, HashMap::putAll);
-        
-        stats.put("total_exercises", exercises.size());
-        stats.put("difficulty_distribution", difficultyCounts);
-        stats.put("type_distribution", typeCounts);
-        stats.put("category_distribution", categoryCounts);
+        stats.put("total_exercises", catalog.size());
+        stats.put("difficulty_distribution", countByKey(catalog.getByDifficulty()));
+        stats.put("type_distribution", countByKey(catalog.getByType()));
+        stats.put("category_distribution", countByKey(catalog.getByCategory()));
         
         return stats;
     }
     
+    private Map<String, Long> countByKey(Map<String, List<DatabaseExercise>> index) {
+        Map<String, Long> counts = new HashMap<>();
+        index.forEach((key, exercises) -> {
+            if (!exercises.isEmpty()) {
+                counts.put(key, (long) exercises.size());
+            }
+        });
+        return counts;
+    }
+    
     /**
      * Save all exercises to database
      */
     public void saveAllExercises(List<DatabaseExercise> exercises) {
         databaseExerciseRepository.saveAll(exercises);
+        exerciseCatalog.refresh();
     }
     
     /**
      * Get all available exercise types
      */
     public List<String> getAvailableExerciseTypes() {
-        List<DatabaseExercise> allExercises = databaseExerciseRepository.findAll();
-        Set<String> types = new HashSet<>();
-        
-        for (DatabaseExercise exercise : allExercises) {
-            String type = getExerciseType(exercise);
-            types.add(type);
-        }
-        
-        return new ArrayList<>(types);
+        return new ArrayList<>(exerciseCatalog.current().getByType().keySet());
     }
     
     /**
      * Get all available categories
      */
     public List<String> getAvailableCategories() {
-        List<DatabaseExercise> allExercises = databaseExerciseRepository.findAll();
-        Set<String> categories = new HashSet<>();
-        
-        for (DatabaseExercise exercise : allExercises) {
-            String category = getExerciseCategory(exercise);
-            categories.add(category);
-        }
-        
-        return new ArrayList<>(categories);
+        return new ArrayList<>(exerciseCatalog.current().getByCategory().keySet());
     }
     
     /**
      * Get all available difficulty levels
      */
     public List<String> getAvailableDifficultyLevels() {
-        return Arrays.asList("beginner", "intermediate", "advanced");
+        return ExerciseCatalog.DIFFICULTY_LEVELS;
     }
 }
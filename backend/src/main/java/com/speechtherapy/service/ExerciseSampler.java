@@ -0,0 +1,134 @@
+package com.speechtherapy.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws random samples from the id-ordered lists of the exercise catalog (or any
+ * other random-access list) without shuffling or sorting the whole pool. Picking
+ * k of n items costs O(k): Floyd's algorithm chooses k distinct indexes, and only
+ * those k are shuffled into a random order.
+ *
+ * <p>Draws are unseeded by default. Setting {@code exercise.sampling.seed} makes
+ * every draw come from one seeded generator, and the {@code seed} overloads give a
+ * draw that is reproducible on its own, which is what tests want.
+ */
+@Service
+public class ExerciseSampler {
+
+    // Shared generator when a seed is configured; thread-local random otherwise
+    private final Random seededRandom;
+
+    public ExerciseSampler(@Value("${exercise.sampling.seed:#{null}}") Long seed) {
+        this.seededRandom = seed != null ? new Random(seed) : null;
+    }
+
+    /**
+     * Up to {@code k} distinct items of {@code pool}, in random order.
+     */
+    public <T> List<T> sample(List<T> pool, int k) {
+        return sample(pool, k, random());
+    }
+
+    /**
+     * As {@link #sample(List, int)}, but the same seed and pool always give the same sample.
+     */
+    public <T> List<T> sample(List<T> pool, int k, long seed) {
+        return sample(pool, k, new Random(seed));
+    }
+
+    /**
+     * Up to {@code k} distinct ids of {@code ids}, in random order.
+     */
+    public long[] sampleIds(long[] ids, int k) {
+        int[] picks = sampleIndexes(ids.length, k, random());
+        long[] sampled = new long[picks.length];
+        for (int i = 0; i < picks.length; i++) {
+            sampled[i] = ids[picks[i]];
+        }
+        return sampled;
+    }
+
+    /**
+     * Up to {@code k} items: random picks from {@code preferred} first, topped up with
+     * random picks from {@code fallbacks} when {@code preferred} runs short.
+     */
+    public <T> List<T> sampleWithFallback(List<T> preferred, List<List<T>> fallbacks, int k, Long seed) {
+        Random random = seed != null ? new Random(seed) : random();
+        List<T> sampled = new ArrayList<>(sample(preferred, k, random));
+        if (sampled.size() < k) {
+            sampled.addAll(sample(concat(fallbacks), k - sampled.size(), random));
+        }
+        return sampled;
+    }
+
+    static <T> List<T> sample(List<T> pool, int k, Random random) {
+        int[] picks = sampleIndexes(pool.size(), k, random);
+        List<T> sampled = new ArrayList<>(picks.length);
+        for (int pick : picks) {
+            sampled.add(pool.get(pick));
+        }
+        return sampled;
+    }
+
+    /**
+     * min(k, n) distinct indexes in [0, n), uniformly chosen and in random order.
+     */
+    static int[] sampleIndexes(int n, int k, Random random) {
+        int count = Math.max(0, Math.min(k, n));
+        int[] picks = new int[count];
+        Set<Integer> chosen = new HashSet<>(count * 2);
+        int next = 0;
+        // Floyd: each j adds either a fresh index below it or j itself
+        for (int j = n - count; j < n; j++) {
+            int candidate = random.nextInt(j + 1);
+            int pick = chosen.add(candidate) ? candidate : j;
+            if (pick == j) {
+                chosen.add(j);
+            }
+            picks[next++] = pick;
+        }
+        // Floyd's picks are uniform as a set but not as a sequence
+        for (int i = count - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = picks[i];
+            picks[i] = picks[swap];
+            picks[swap] = tmp;
+        }
+        return picks;
+    }
+
+    private Random random() {
+        return seededRandom != null ? seededRandom : ThreadLocalRandom.current();
+    }
+
+    // A read-only view of several lists back to back, so fallbacks need no copying
+    private static <T> List<T> concat(List<List<T>> lists) {
+        return new AbstractList<>() {
+            @Override
+            public T get(int index) {
+                int remaining = index;
+                for (List<T> list : lists) {
+                    if (remaining < list.size()) {
+                        return list.get(remaining);
+                    }
+                    remaining -= list.size();
+                }
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            @Override
+            public int size() {
+                return lists.stream().mapToInt(List::size).sum();
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.model.DatabaseExercise;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Ranked full-text search over the exercise catalog. An inverted index maps every
+ * case-folded token of an exercise's name, target muscles and description to the
+ * exercises containing it; it is kept sorted, so a query term also matches every
+ * token it is a prefix of ("breath" finds "breathing").
+ *
+ * <p>Every query term has to match. An exercise scores the sum over query terms of
+ * field weight x term frequency x idf, with prefix matches counting half, and
+ * results come back best first. The index is rebuilt whenever the catalog swaps in
+ * a new snapshot (after seeding, the classification backfill and saves), so it
+ * never serves exercises the catalog doesn't know about.
+ */
+@Service
+public class ExerciseSearchService {
+
+    static final double NAME_WEIGHT = 3.0;
+    static final double MUSCLES_WEIGHT = 2.0;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+    static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final ExerciseCatalog exerciseCatalog;
+    private final Timer buildTimer;
+
+    private volatile Index index;
+
+    public ExerciseSearchService(ExerciseCatalog exerciseCatalog, MeterRegistry meterRegistry) {
+        this.exerciseCatalog = exerciseCatalog;
+        this.buildTimer = Timer.builder("exercise.search.index.build")
+            .description("Time taken to rebuild the exercise search index")
+            .register(meterRegistry);
+    }
+
+    /**
+     * All exercises matching every term of {@code query}, best match first.
+     */
+    public List<DatabaseExercise> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The {@code limit} best exercises matching every term of {@code query}.
+     */
+    public List<DatabaseExercise> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return currentIndex().search(terms, limit);
+    }
+
+    private Index currentIndex() {
+        ExerciseCatalog.Snapshot catalog = exerciseCatalog.current();
+        Index current = index;
+        if (current == null || current.source != catalog) {
+            synchronized (this) {
+                current = index;
+                if (current == null || current.source != catalog) {
+                    current = buildTimer.record(() -> Index.of(catalog));
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Term -> (exercise position -> weighted term frequency), built from one catalog snapshot.
+     */
+    private static final class Index {
+        private final ExerciseCatalog.Snapshot source;
+        private final List<DatabaseExercise> exercises;
+        private final NavigableMap<String, Map<Integer, Double>> postings;
+
+        private Index(ExerciseCatalog.Snapshot source, NavigableMap<String, Map<Integer, Double>> postings) {
+            this.source = source;
+            this.exercises = source.getAll();
+            this.postings = postings;
+        }
+
+        static Index of(ExerciseCatalog.Snapshot catalog) {
+            NavigableMap<String, Map<Integer, Double>> postings = new TreeMap<>();
+            List<DatabaseExercise> exercises = catalog.getAll();
+            for (int doc = 0; doc < exercises.size(); doc++) {
+                DatabaseExercise exercise = exercises.get(doc);
+                addField(postings, doc, exercise.getExerciseName(), NAME_WEIGHT);
+                addField(postings, doc, exercise.getTargetMuscles(), MUSCLES_WEIGHT);
+                addField(postings, doc, exercise.getDescription(), DESCRIPTION_WEIGHT);
+            }
+            postings.replaceAll((term, docs) -> Collections.unmodifiableMap(docs));
+            return new Index(catalog, Collections.unmodifiableNavigableMap(postings));
+        }
+
+        private static void addField(Map<String, Map<Integer, Double>> postings, int doc, String text, double weight) {
+            for (String token : tokenize(text)) {
+                postings.computeIfAbsent(token, t -> new HashMap<>()).merge(doc, weight, Double::sum);
+            }
+        }
+
+        List<DatabaseExercise> search(List<String> terms, int limit) {
+            Map<Integer, Double> scores = null;
+            for (String term : terms) {
+                Map<Integer, Double> termScores = score(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Keep only exercises that matched every earlier term too
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((doc, score) -> score + termScores.get(doc));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Position in the catalog is id order, which breaks ties
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+            List<DatabaseExercise> results = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && results.size() < limit; i++) {
+                results.add(exercises.get(ranked.get(i).getKey()));
+            }
+            return results;
+        }
+
+        // Scores of every exercise containing the term itself or a token it prefixes
+        private Map<Integer, Double> score(String term) {
+            Map<Integer, Double> scores = new HashMap<>();
+            for (Map.Entry<String, Map<Integer, Double>> entry : postings.tailMap(term, true).entrySet()) {
+                if (!entry.getKey().startsWith(term)) {
+                    break;
+                }
+                double factor = entry.getKey().equals(term) ? 1.0 : PREFIX_MATCH_FACTOR;
+                double idf = Math.log(1.0 + (double) exercises.size() / entry.getValue().size());
+                entry.getValue().forEach((doc, weight) -> scores.merge(doc, weight * factor * idf, Double::sum));
+            }
+            return scores;
+        }
+    }
+}
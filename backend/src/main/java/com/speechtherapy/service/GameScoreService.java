@@ -1,33 +1,57 @@
 package com.speechtherapy.service;
 
+import com.speechtherapy.dto.GameScoreEntry;
+import com.speechtherapy.dto.LeaderboardEntry;
 import com.speechtherapy.model.GameScore;
+import com.speechtherapy.model.ScoreBreakdown;
 import com.speechtherapy.model.User;
+import com.speechtherapy.model.UserGameStats;
 import com.speechtherapy.repository.GameScoreRepository;
 import com.speechtherapy.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class GameScoreService {
     
+    // Games the client has always reported on, even before they have been played
+    private static final List<String> KNOWN_GAME_IDS = List.of("word-repetition", "tongue-twister",
+            "fill-in-blank", "sound-matching", "audio-quiz", "timed-pronunciation", "phoneme-blending");
+    
     @Autowired
     private GameScoreRepository gameScoreRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private UserGameStatsService userGameStatsService;
+    
     // Save a new game score
+    @Transactional
     public GameScore saveGameScore(GameScore gameScore) {
-        return gameScoreRepository.save(gameScore);
+        GameScore saved = gameScoreRepository.save(gameScore);
+        userGameStatsService.record(saved);
+        leaderboardService.record(saved);
+        return saved;
     }
     
     // Create a new game score from data
+    @Transactional
     public GameScore createGameScore(Long userId, String gameId, Integer points, Integer accuracy, 
                                    Integer attempts, Integer hintsUsed, Long totalTime, 
                                    Double averageSpeed, String difficulty, Integer roundsCompleted,
@@ -55,117 +79,85 @@ public class GameScoreService {
         gameScore.setQuestionsCompleted(questionsCompleted);
         gameScore.setTwistersCompleted(twistersCompleted);
         
-        return gameScoreRepository.save(gameScore);
-    }
-    
-    // Get all scores for a user
-    public List<GameScore> getUserScores(Long userId) {
-        return gameScoreRepository.findByUserIdOrderByTimestampDesc(userId);
+        GameScore saved = gameScoreRepository.save(gameScore);
+        userGameStatsService.record(saved);
+        leaderboardService.record(saved);
+        return saved;
     }
     
     // Get scores for a user in a specific game
-    public List<GameScore> getUserGameScores(Long userId, String gameId) {
-        return gameScoreRepository.findByUserIdAndGameIdOrderByTimestampDesc(userId, gameId);
+    public List<GameScoreEntry> getUserGameScores(Long userId, String gameId) {
+        return gameScoreRepository.findEntriesByUserIdAndGameId(userId, gameId);
     }
     
     // Get best score for a user in a specific game
-    public Optional<GameScore> getUserBestGameScore(Long userId, String gameId) {
-        return gameScoreRepository.findTopByUserIdAndGameIdOrderByPointsDesc(userId, gameId);
+    public Optional<GameScoreEntry> getUserBestGameScore(Long userId, String gameId) {
+        return gameScoreRepository.findBestEntriesByUserIdAndGameId(userId, gameId, PageRequest.of(0, 1))
+            .stream().findFirst();
     }
     
     // Get recent scores for a user (last 30 days)
-    public List<GameScore> getUserRecentScores(Long userId) {
+    public List<GameScoreEntry> getUserRecentScores(Long userId) {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         return gameScoreRepository.findRecentScoresByUserId(userId, thirtyDaysAgo);
     }
     
-    // Get user statistics
+    // Get user statistics from the stored per-user aggregate
     public Map<String, Object> getUserStatistics(Long userId) {
         Map<String, Object> stats = new HashMap<>();
         
-        // Total points
-        Integer totalPoints = gameScoreRepository.getTotalPointsByUserId(userId);
-        stats.put("totalPoints", totalPoints != null ? totalPoints : 0);
-        
-        // Average accuracy
-        Double avgAccuracy = gameScoreRepository.getAverageAccuracyByUserId(userId);
-        stats.put("averageAccuracy", avgAccuracy != null ? avgAccuracy : 0.0);
-        
-        // Total games played
-        long totalGames = gameScoreRepository.countByUserId(userId);
-        stats.put("totalGames", totalGames);
-        
-        // Best score
-        Optional<GameScore> bestScore = gameScoreRepository.findTopScoresByUserId(userId)
-                .stream().findFirst();
-        stats.put("bestScore", bestScore.map(GameScore::getPoints).orElse(0));
-        
-        // Game breakdown
-        List<Object[]> gameStats = gameScoreRepository.getGameStatisticsByUserId(userId);
-        Map<String, Object> gameBreakdown = new HashMap<>();
-        for (Object[] stat : gameStats) {
-            String gameId = (String) stat[0];
-            Long count = (Long) stat[1];
-            Double avgPoints = (Double) stat[2];
-            Double avgAcc = (Double) stat[3];
-            
-            Map<String, Object> gameStat = new HashMap<>();
-            gameStat.put("count", count);
-            gameStat.put("averagePoints", avgPoints != null ? avgPoints : 0.0);
-            gameStat.put("averageAccuracy", avgAcc != null ? avgAcc : 0.0);
-            gameBreakdown.put(gameId, gameStat);
-        }
-        stats.put("gameBreakdown", gameBreakdown);
-        
-        // Difficulty breakdown
-        List<Object[]> difficultyStats = gameScoreRepository.getDifficultyStatisticsByUserId(userId);
-        Map<String, Object> difficultyBreakdown = new HashMap<>();
-        for (Object[] stat : difficultyStats) {
-            String difficulty = (String) stat[0];
-            Long count = (Long) stat[1];
-            Double avgPoints = (Double) stat[2];
-            Double avgAcc = (Double) stat[3];
-            
-            Map<String, Object> difficultyStat = new HashMap<>();
-            difficultyStat.put("count", count);
-            difficultyStat.put("averagePoints", avgPoints != null ? avgPoints : 0.0);
-            difficultyStat.put("averageAccuracy", avgAcc != null ? avgAcc : 0.0);
-            difficultyBreakdown.put(difficulty, difficultyStat);
-        }
-        stats.put("difficultyBreakdown", difficultyBreakdown);
+        Optional<UserGameStats> aggregate = userGameStatsService.find(userId);
+        ScoreBreakdown totals = aggregate.map(UserGameStats::getTotals).orElseGet(ScoreBreakdown::new);
+        
+        stats.put("totalPoints", totals.getPointsSum());
+        stats.put("averageAccuracy", totals.getAverageAccuracy());
+        stats.put("totalGames", totals.getCount());
+        stats.put("bestScore", totals.getBestPoints());
+        stats.put("gameBreakdown", toBreakdownMap(aggregate.map(UserGameStats::getByGame).orElse(Map.of())));
+        stats.put("difficultyBreakdown", toBreakdownMap(aggregate.map(UserGameStats::getByDifficulty).orElse(Map.of())));
         
         return stats;
     }
     
-    // Get leaderboard for a specific game
-    public List<GameScore> getGameLeaderboard(String gameId, int limit) {
-        List<GameScore> topScores = gameScoreRepository.findTopScoresByGame(gameId);
-        return topScores.stream().limit(limit).toList();
+    private Map<String, Object> toBreakdownMap(Map<String, ScoreBreakdown> breakdowns) {
+        Map<String, Object> result = new HashMap<>();
+        breakdowns.forEach((key, breakdown) -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("count", breakdown.getCount());
+            entry.put("averagePoints", breakdown.getAveragePoints());
+            entry.put("averageAccuracy", breakdown.getAverageAccuracy());
+            result.put(key, entry);
+        });
+        return result;
+    }
+    
+    // Get a page of a game's leaderboard
+    public List<LeaderboardEntry> getGameLeaderboard(String gameId, int page, int size) {
+        return leaderboardService.getForGame(gameId, page, size);
     }
     
-    // Get overall leaderboard
-    public List<GameScore> getOverallLeaderboard(int limit) {
-        List<GameScore> topScores = gameScoreRepository.findTopScores();
-        return topScores.stream().limit(limit).toList();
+    // Get a page of the overall leaderboard
+    public List<LeaderboardEntry> getOverallLeaderboard(int page, int size) {
+        return leaderboardService.getOverall(page, size);
     }
     
     // Get high accuracy scores
-    public List<GameScore> getHighAccuracyScores(Integer threshold) {
+    public List<GameScoreEntry> getHighAccuracyScores(Integer threshold) {
         return gameScoreRepository.findHighAccuracyScores(threshold);
     }
     
     // Get high accuracy scores for a user
-    public List<GameScore> getUserHighAccuracyScores(Long userId, Integer threshold) {
+    public List<GameScoreEntry> getUserHighAccuracyScores(Long userId, Integer threshold) {
         return gameScoreRepository.findHighAccuracyScoresByUserId(userId, threshold);
     }
     
     // Get scores by date range
-    public List<GameScore> getScoresByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+    public List<GameScoreEntry> getScoresByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return gameScoreRepository.findScoresByDateRange(startDate, endDate);
     }
     
     // Get user scores by date range
-    public List<GameScore> getUserScoresByDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+    public List<GameScoreEntry> getUserScoresByDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
         return gameScoreRepository.findScoresByUserIdAndDateRange(userId, startDate, endDate);
     }
     
@@ -174,19 +166,19 @@ public class GameScoreService {
         LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
         LocalDateTime now = LocalDateTime.now();
         
-        List<GameScore> weeklyScores = gameScoreRepository.findScoresByUserIdAndDateRange(userId, weekAgo, now);
+        List<GameScoreEntry> weeklyScores = gameScoreRepository.findScoresByUserIdAndDateRange(userId, weekAgo, now);
         
         Map<String, Object> weeklyProgress = new HashMap<>();
         weeklyProgress.put("totalGames", weeklyScores.size());
         
         Integer weeklyPoints = weeklyScores.stream()
-                .mapToInt(GameScore::getPoints)
+                .mapToInt(GameScoreEntry::points)
                 .sum();
         weeklyProgress.put("totalPoints", weeklyPoints);
         
         Double weeklyAccuracy = weeklyScores.stream()
-                .filter(gs -> gs.getAccuracy() != null)
-                .mapToInt(GameScore::getAccuracy)
+                .filter(gs -> gs.accuracy() != null)
+                .mapToInt(GameScoreEntry::accuracy)
                 .average()
                 .orElse(0.0);
         weeklyProgress.put("averageAccuracy", weeklyAccuracy);
@@ -198,8 +190,8 @@ public class GameScoreService {
             String dayKey = day.toLocalDate().toString();
             
             Integer dayPoints = weeklyScores.stream()
-                    .filter(gs -> gs.getTimestamp().toLocalDate().equals(day.toLocalDate()))
-                    .mapToInt(GameScore::getPoints)
+                    .filter(gs -> gs.timestamp().toLocalDate().equals(day.toLocalDate()))
+                    .mapToInt(GameScoreEntry::points)
                     .sum();
             dailyPoints.put(dayKey, dayPoints);
         }
@@ -212,35 +204,58 @@ public class GameScoreService {
     public void cleanupOldScores(int daysOld) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
         gameScoreRepository.deleteOldScores(cutoffDate);
+        leaderboardService.rebuild();
+        userGameStatsService.reconcileAll();
     }
     
     // Get game completion statistics
     public Map<String, Object> getGameCompletionStats(Long userId) {
         Map<String, Object> completionStats = new HashMap<>();
         
-        // Count completed games by type
-        long wordRepetitionGames = gameScoreRepository.countByUserIdAndGameId(userId, "word-repetition");
-        long tongueTwisterGames = gameScoreRepository.countByUserIdAndGameId(userId, "tongue-twister");
-        long fillInBlankGames = gameScoreRepository.countByUserIdAndGameId(userId, "fill-in-blank");
-        long soundMatchingGames = gameScoreRepository.countByUserIdAndGameId(userId, "sound-matching");
-        long audioQuizGames = gameScoreRepository.countByUserIdAndGameId(userId, "audio-quiz");
-        long timedPronunciationGames = gameScoreRepository.countByUserIdAndGameId(userId, "timed-pronunciation");
-        long phonemeBlendingGames = gameScoreRepository.countByUserIdAndGameId(userId, "phoneme-blending");
-        
-        completionStats.put("wordRepetition", wordRepetitionGames);
-        completionStats.put("tongueTwister", tongueTwisterGames);
-        completionStats.put("fillInBlank", fillInBlankGames);
-        completionStats.put("soundMatching", soundMatchingGames);
-        completionStats.put("audioQuiz", audioQuizGames);
-        completionStats.put("timedPronunciation", timedPronunciationGames);
-        completionStats.put("phonemeBlending", phonemeBlendingGames);
-        
-        // Total unique games played
-        long totalUniqueGames = List.of(wordRepetitionGames, tongueTwisterGames, fillInBlankGames,
-                soundMatchingGames, audioQuizGames, timedPronunciationGames, phonemeBlendingGames)
-                .stream().filter(count -> count > 0).count();
+        // Earlier clients read the known games' camel-case keys directly, so they are always present
+        Set<String> knownKeys = new HashSet<>();
+        for (String gameId : KNOWN_GAME_IDS) {
+            knownKeys.add(toCamelCase(gameId));
+            completionStats.put(toCamelCase(gameId), 0L);
+        }
+        
+        // Count completed games for every game id in one round trip. Other ids appear only
+        // under "games", by their raw id; spellings of one game ("word-repetition",
+        // "wordRepetition") are summed into its top-level key rather than overwriting it
+        Map<String, Long> gameCounts = new TreeMap<>();
+        Map<String, Long> countsByKey = new HashMap<>();
+        for (Object[] row : gameScoreRepository.countGamesByUserId(userId)) {
+            String gameId = (String) row[0];
+            Long count = (Long) row[1];
+            gameCounts.put(gameId, count);
+            countsByKey.merge(toCamelCase(gameId), count, Long::sum);
+        }
+        countsByKey.forEach((key, count) -> {
+            if (knownKeys.contains(key)) {
+                completionStats.put(key, count);
+            }
+        });
+        completionStats.put("games", gameCounts);
+        
+        // Total unique games played, counting spellings of one game once
+        long totalUniqueGames = countsByKey.values().stream().filter(count -> count > 0).count();
         completionStats.put("totalUniqueGames", totalUniqueGames);
         
         return completionStats;
     }
+    
+    // "word-repetition" -> "wordRepetition"
+    private static String toCamelCase(String gameId) {
+        StringBuilder key = new StringBuilder(gameId.length());
+        boolean upperNext = false;
+        for (char c : gameId.toCharArray()) {
+            if (c == '-' || c == '_' || c == ' ') {
+                upperNext = key.length() > 0;
+            } else {
+                key.append(upperNext ? Character.toUpperCase(c) : c);
+                upperNext = false;
+            }
+        }
+        return key.toString();
+    }
 }
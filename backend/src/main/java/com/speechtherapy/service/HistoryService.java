@@ -0,0 +1,180 @@
+package com.speechtherapy.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speechtherapy.config.QueryBudget;
+import com.speechtherapy.dto.AIExerciseEntry;
+import com.speechtherapy.dto.CompletedExerciseEntry;
+import com.speechtherapy.dto.CursorPage;
+import com.speechtherapy.dto.FluencyScoreEntry;
+import com.speechtherapy.dto.GameScoreEntry;
+import com.speechtherapy.dto.HistoryCursor;
+import com.speechtherapy.dto.WeeklyPlanEntry;
+import com.speechtherapy.repository.AIExerciseRepository;
+import com.speechtherapy.repository.CompletedExerciseRepository;
+import com.speechtherapy.repository.FluencyScoreRepository;
+import com.speechtherapy.repository.GameScoreRepository;
+import com.speechtherapy.repository.WeeklyPlanRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset-paginated reads of a user's history: game scores, completed exercises,
+ * AI exercises, fluency sessions and weekly plans, newest first. Each page is one
+ * indexed range query on (user, timestamp, id) that reads DTOs rather than
+ * entities, so the cost of a page doesn't grow with the length of the history.
+ *
+ * <p>The same readers back the NDJSON mode, which walks the whole history page by
+ * page and writes one JSON object per line, flushing after each page.
+ */
+@Service
+@QueryBudget(1)
+public class HistoryService {
+
+    private final GameScoreRepository gameScoreRepository;
+    private final CompletedExerciseRepository completedExerciseRepository;
+    private final AIExerciseRepository aiExerciseRepository;
+    private final FluencyScoreRepository fluencyScoreRepository;
+    private final WeeklyPlanRepository weeklyPlanRepository;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public HistoryService(GameScoreRepository gameScoreRepository,
+                          CompletedExerciseRepository completedExerciseRepository,
+                          AIExerciseRepository aiExerciseRepository,
+                          FluencyScoreRepository fluencyScoreRepository,
+                          WeeklyPlanRepository weeklyPlanRepository,
+                          ObjectMapper objectMapper,
+                          @Value("${history.page-size.default:50}") int defaultPageSize,
+                          @Value("${history.page-size.max:500}") int maxPageSize) {
+        this.gameScoreRepository = gameScoreRepository;
+        this.completedExerciseRepository = completedExerciseRepository;
+        this.aiExerciseRepository = aiExerciseRepository;
+        this.fluencyScoreRepository = fluencyScoreRepository;
+        this.weeklyPlanRepository = weeklyPlanRepository;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+    }
+
+    public CursorPage<GameScoreEntry> gameScores(Long userId, String cursor, Integer limit) {
+        return page(gameScoreReader(userId), GameScoreEntry::cursor, cursor, limit);
+    }
+
+    public StreamingResponseBody streamGameScores(Long userId) {
+        return stream(gameScoreReader(userId), GameScoreEntry::cursor);
+    }
+
+    public CursorPage<CompletedExerciseEntry> completedExercises(Long userId, String cursor, Integer limit) {
+        return page(completedExerciseReader(userId), CompletedExerciseEntry::cursor, cursor, limit);
+    }
+
+    public StreamingResponseBody streamCompletedExercises(Long userId) {
+        return stream(completedExerciseReader(userId), CompletedExerciseEntry::cursor);
+    }
+
+    public CursorPage<AIExerciseEntry> aiExercises(Long userId, String cursor, Integer limit) {
+        return page(aiExerciseReader(userId), AIExerciseEntry::cursor, cursor, limit);
+    }
+
+    public StreamingResponseBody streamAiExercises(Long userId) {
+        return stream(aiExerciseReader(userId), AIExerciseEntry::cursor);
+    }
+
+    public CursorPage<FluencyScoreEntry> fluencyScores(Long userId, String cursor, Integer limit) {
+        return page(fluencyScoreReader(userId), FluencyScoreEntry::cursor, cursor, limit);
+    }
+
+    public StreamingResponseBody streamFluencyScores(Long userId) {
+        return stream(fluencyScoreReader(userId), FluencyScoreEntry::cursor);
+    }
+
+    public CursorPage<WeeklyPlanEntry> weeklyPlans(Long userId, String cursor, Integer limit) {
+        return page(weeklyPlanReader(userId), WeeklyPlanEntry::cursor, cursor, limit);
+    }
+
+    public StreamingResponseBody streamWeeklyPlans(Long userId) {
+        return stream(weeklyPlanReader(userId), WeeklyPlanEntry::cursor);
+    }
+
+    private PageReader<GameScoreEntry> gameScoreReader(Long userId) {
+        return (after, page) -> after == null
+            ? gameScoreRepository.findHistory(userId, page)
+            : gameScoreRepository.findHistoryAfter(userId, after.timestamp(), after.id(), page);
+    }
+
+    private PageReader<CompletedExerciseEntry> completedExerciseReader(Long userId) {
+        return (after, page) -> after == null
+            ? completedExerciseRepository.findHistory(userId, page)
+            : completedExerciseRepository.findHistoryAfter(userId, after.timestamp(), after.id(), page);
+    }
+
+    private PageReader<AIExerciseEntry> aiExerciseReader(Long userId) {
+        return (after, page) -> after == null
+            ? aiExerciseRepository.findHistory(userId, page)
+            : aiExerciseRepository.findHistoryAfter(userId, after.timestamp(), after.id(), page);
+    }
+
+    private PageReader<FluencyScoreEntry> fluencyScoreReader(Long userId) {
+        return (after, page) -> after == null
+            ? fluencyScoreRepository.findHistory(userId, page)
+            : fluencyScoreRepository.findHistoryAfter(userId, after.timestamp(), after.id(), page);
+    }
+
+    // Weekly plans are keyed by the week's start date
+    private PageReader<WeeklyPlanEntry> weeklyPlanReader(Long userId) {
+        return (after, page) -> after == null
+            ? weeklyPlanRepository.findHistory(userId, page)
+            : weeklyPlanRepository.findHistoryAfter(userId, after.timestamp().toLocalDate(), after.id(), page);
+    }
+
+    /**
+     * Read one page after {@code cursor}. One extra row is fetched to tell whether
+     * another page follows. Throws {@link IllegalArgumentException} for a bad cursor.
+     */
+    <T> CursorPage<T> page(PageReader<T> reader, Function<T, HistoryCursor> keyOf, String cursor, Integer limit) {
+        int size = limit == null ? defaultPageSize : Math.min(Math.max(1, limit), maxPageSize);
+        List<T> rows = reader.read(HistoryCursor.decode(cursor), PageRequest.of(0, size + 1));
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(List.copyOf(items), keyOf.apply(items.get(size - 1)).encode(), true);
+    }
+
+    /**
+     * Write the whole history as NDJSON, one page in memory at a time.
+     */
+    <T> StreamingResponseBody stream(PageReader<T> reader, Function<T, HistoryCursor> keyOf) {
+        return out -> {
+            Pageable page = PageRequest.of(0, maxPageSize);
+            HistoryCursor after = null;
+            while (true) {
+                List<T> rows = reader.read(after, page);
+                for (T row : rows) {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                out.flush();
+                if (rows.size() < maxPageSize) {
+                    break;
+                }
+                after = keyOf.apply(rows.get(rows.size() - 1));
+            }
+        };
+    }
+
+    /**
+     * Reads the rows after a cursor (or the first rows when it is null).
+     */
+    @FunctionalInterface
+    interface PageReader<T> {
+        List<T> read(HistoryCursor after, Pageable page);
+    }
+}
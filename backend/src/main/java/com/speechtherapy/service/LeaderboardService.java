@@ -0,0 +1,197 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.dto.LeaderboardEntry;
+import com.speechtherapy.model.GameScore;
+import com.speechtherapy.repository.GameScoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the top K scores overall and per game in memory. Boards are rebuilt from the
+ * database at startup and updated as scores are saved; reads of ranks within the
+ * top K come from an immutable snapshot and never touch the database. Ranks
+ * beyond K are paged from the database with the same ordering.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    // Same order as the leaderboard queries: points desc, earlier score first, then id
+    static final Comparator<LeaderboardEntry> ORDER = Comparator
+        .comparing(LeaderboardEntry::points, Comparator.reverseOrder())
+        .thenComparing(LeaderboardEntry::timestamp, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(LeaderboardEntry::scoreId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final GameScoreRepository gameScoreRepository;
+    private final int topK;
+
+    // Both references are swapped wholesale on rebuild so readers never see a partial state
+    private volatile Board overall;
+    private volatile Map<String, Board> boardsByGame = new ConcurrentHashMap<>();
+
+    public LeaderboardService(GameScoreRepository gameScoreRepository,
+                              @Value("${leaderboard.top-k:100}") int topK) {
+        this.gameScoreRepository = gameScoreRepository;
+        this.topK = Math.max(1, topK);
+        this.overall = new Board(this.topK);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Could not build leaderboards at startup", e);
+        }
+    }
+
+    /**
+     * Reload every board from the database. Also used after bulk deletes, since a
+     * top-K structure cannot refill itself once entries are removed.
+     */
+    public synchronized void rebuild() {
+        PageRequest topPage = PageRequest.of(0, topK);
+        Board rebuiltOverall = new Board(topK);
+        gameScoreRepository.findLeaderboard(topPage).forEach(rebuiltOverall::offer);
+        rebuiltOverall.publish();
+
+        Map<String, Board> rebuiltGames = new ConcurrentHashMap<>();
+        for (String gameId : gameScoreRepository.findDistinctGameIds()) {
+            Board board = new Board(topK);
+            gameScoreRepository.findLeaderboardByGame(gameId, topPage).forEach(board::offer);
+            board.publish();
+            rebuiltGames.put(gameId, board);
+        }
+
+        overall = rebuiltOverall;
+        boardsByGame = rebuiltGames;
+    }
+
+    /**
+     * Offer a newly saved score to the overall and per-game boards. Inside a
+     * transaction the boards are only updated once it commits, so a score that is
+     * rolled back never shows up.
+     */
+    public void record(GameScore score) {
+        LeaderboardEntry entry = new LeaderboardEntry(score.getId(), score.getUser().getId(),
+            score.getUser().getName(), score.getGameId(), score.getPoints(), score.getAccuracy(),
+            score.getDifficulty(), score.getTimestamp());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(entry);
+            }
+        });
+    }
+
+    private synchronized void offer(LeaderboardEntry entry) {
+        if (overall.offer(entry)) {
+            overall.publish();
+        }
+        Board gameBoard = boardsByGame.computeIfAbsent(entry.gameId(), id -> new Board(topK));
+        if (gameBoard.offer(entry)) {
+            gameBoard.publish();
+        }
+    }
+
+    /**
+     * One page of the overall leaderboard. Pages that lie entirely within the top K
+     * are served from memory.
+     */
+    public List<LeaderboardEntry> getOverall(int page, int size) {
+        if (fitsInMemory(page, size)) {
+            return slice(overall.snapshot, page, size);
+        }
+        return ranked(gameScoreRepository.findLeaderboard(PageRequest.of(page, size)), page, size);
+    }
+
+    /**
+     * One page of a game's leaderboard, with the same memory/database split.
+     */
+    public List<LeaderboardEntry> getForGame(String gameId, int page, int size) {
+        if (fitsInMemory(page, size)) {
+            Board board = boardsByGame.get(gameId);
+            return board != null ? slice(board.snapshot, page, size) : List.of();
+        }
+        return ranked(gameScoreRepository.findLeaderboardByGame(gameId, PageRequest.of(page, size)), page, size);
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    private boolean fitsInMemory(int page, int size) {
+        return (long) (page + 1) * size <= topK;
+    }
+
+    private static List<LeaderboardEntry> slice(List<LeaderboardEntry> snapshot, int page, int size) {
+        int from = page * size;
+        if (from >= snapshot.size()) {
+            return List.of();
+        }
+        return snapshot.subList(from, Math.min(snapshot.size(), from + size));
+    }
+
+    private static List<LeaderboardEntry> ranked(List<LeaderboardEntry> rows, int page, int size) {
+        List<LeaderboardEntry> result = new ArrayList<>(rows.size());
+        int rank = page * size + 1;
+        for (LeaderboardEntry row : rows) {
+            result.add(row.withRank(rank++));
+        }
+        return result;
+    }
+
+    /**
+     * Bounded ordered set of the best entries. Mutated only under the service lock;
+     * readers use the published snapshot, which already carries ranks.
+     */
+    private static final class Board {
+        private final int capacity;
+        private final TreeSet<LeaderboardEntry> entries = new TreeSet<>(ORDER);
+        private volatile List<LeaderboardEntry> snapshot = List.of();
+
+        Board(int capacity) {
+            this.capacity = capacity;
+        }
+
+        boolean offer(LeaderboardEntry entry) {
+            if (entries.size() >= capacity && ORDER.compare(entry, entries.last()) >= 0) {
+                return false;
+            }
+            entries.add(entry);
+            if (entries.size() > capacity) {
+                entries.pollLast();
+            }
+            return true;
+        }
+
+        void publish() {
+            List<LeaderboardEntry> ranked = new ArrayList<>(entries.size());
+            int rank = 1;
+            for (LeaderboardEntry entry : entries) {
+                ranked.add(entry.withRank(rank++));
+            }
+            snapshot = List.copyOf(ranked);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.speechtherapy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactive client for the Python nlp_service. Calls run on a bounded Reactor Netty
+ * connection pool with a per-attempt response timeout, an overall deadline and a
+ * bounded number of retries. A circuit breaker stops calls while the service is
+ * failing so callers can fall back to the mock scorer immediately.
+ */
+@Service
+public class NlpAnalysisClient {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+        new ParameterizedTypeReference<>() {};
+
+    private static final Set<String> KNOWN_EXERCISE_TYPES =
+        Set.of("phoneme", "word", "sentence", "conversation", "tongue_twister");
+
+    private static final String[] SCORE_KEYS =
+        {"overallScore", "accuracyScore", "clarityScore", "fluencyScore"};
+
+    private final boolean enabled;
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final Duration callDeadline;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final SimpleCircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter shortCircuited;
+
+    public NlpAnalysisClient(MeterRegistry meterRegistry,
+                             @Value("${nlp.service.enabled:false}") boolean enabled,
+                             @Value("${nlp.service.base-url:http://localhost:8000}") String baseUrl,
+                             @Value("${nlp.service.max-connections:50}") int maxConnections,
+                             @Value("${nlp.service.pending-acquire-timeout-ms:1000}") long pendingAcquireTimeoutMs,
+                             @Value("${nlp.service.connect-timeout-ms:1000}") int connectTimeoutMs,
+                             @Value("${nlp.service.response-timeout-ms:3000}") long responseTimeoutMs,
+                             @Value("${nlp.service.deadline-ms:5000}") long deadlineMs,
+                             @Value("${nlp.service.max-retries:2}") int maxRetries,
+                             @Value("${nlp.service.retry-backoff-ms:100}") long retryBackoffMs,
+                             @Value("${nlp.service.breaker.failure-threshold:5}") int failureThreshold,
+                             @Value("${nlp.service.breaker.open-ms:30000}") long breakerOpenMs) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.callDeadline = Duration.ofMillis(deadlineMs);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.circuitBreaker = new SimpleCircuitBreaker(failureThreshold, Duration.ofMillis(breakerOpenMs));
+
+        this.connectionProvider = ConnectionProvider.builder("nlp-service")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+            .maxIdleTime(Duration.ofSeconds(30))
+            .evictInBackground(Duration.ofSeconds(60))
+            .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        this.webClient = WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+
+        Gauge.builder("nlp.client.circuit.open", circuitBreaker,
+                breaker -> breaker.getState() == SimpleCircuitBreaker.State.CLOSED ? 0 : 1)
+            .description("1 while the NLP circuit breaker is open or half-open")
+            .register(meterRegistry);
+        this.shortCircuited = Counter.builder("nlp.client.short.circuited")
+            .description("NLP calls skipped because the circuit breaker was open")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Mono<Map<String, Object>> analyze(Path audioFile, String exerciseType, String targetText) {
+        MultipartBodyBuilder parts = new MultipartBodyBuilder();
+        parts.part("audio", new FileSystemResource(audioFile));
+        parts.part("exerciseType", exerciseType);
+        parts.part("targetText", targetText);
+
+        return execute("/analyze", parts, exerciseType, MAP_TYPE)
+            .map(raw -> normalize(raw, exerciseType, targetText));
+    }
+
+    /**
+     * Sends several clips of the same exercise type in one request to
+     * {@code /analyze/batch}. Results come back in submission order.
+     */
+    public Mono<List<Map<String, Object>>> analyzeBatch(List<Path> audioFiles, String exerciseType,
+                                                        List<String> targetTexts) {
+        MultipartBodyBuilder parts = new MultipartBodyBuilder();
+        parts.part("exerciseType", exerciseType);
+        for (int i = 0; i < audioFiles.size(); i++) {
+            parts.part("audio", new FileSystemResource(audioFiles.get(i)));
+            parts.part("targetText", targetTexts.get(i));
+        }
+
+        return execute("/analyze/batch", parts, exerciseType, MAP_TYPE)
+            .map(response -> {
+                if (!(response.get("results") instanceof List<?> results) || results.size() != audioFiles.size()) {
+                    throw new NlpUnavailableException("NLP batch response did not match the submitted clips");
+                }
+                List<Map<String, Object>> normalized = new ArrayList<>(results.size());
+                for (int i = 0; i < results.size(); i++) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> raw = results.get(i) instanceof Map ? (Map<String, Object>) results.get(i) : null;
+                    normalized.add(normalize(raw, exerciseType, targetTexts.get(i)));
+                }
+                return normalized;
+            });
+    }
+
+    private <T> Mono<T> execute(String uri, MultipartBodyBuilder parts, String exerciseType,
+                                ParameterizedTypeReference<T> responseType) {
+        // The permit is taken on subscription, so a Mono that is never subscribed holds no trial slot
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                shortCircuited.increment();
+                return Mono.error(new NlpUnavailableException("NLP circuit breaker is open"));
+            }
+            long start = System.nanoTime();
+            return webClient.post()
+                .uri(uri)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(parts.build()))
+                .retrieve()
+                .bodyToMono(responseType)
+                .retryWhen(Retry.backoff(maxRetries, retryBackoff).filter(NlpAnalysisClient::isRetryable))
+                .timeout(callDeadline)
+                .doOnSuccess(result -> {
+                    circuitBreaker.onSuccess();
+                    recordLatency(exerciseType, "success", start);
+                })
+                .doOnError(error -> {
+                    circuitBreaker.onFailure();
+                    recordLatency(exerciseType, "error", start);
+                })
+                // A caller that gives up says nothing about the service's health
+                .doOnCancel(circuitBreaker::release);
+        });
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            return responseError.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    private void recordLatency(String exerciseType, String outcome, long startNanos) {
+        Timer.builder("nlp.client.latency")
+            .description("Round trip time of NLP analysis calls, including retries")
+            .tag("exerciseType", exerciseTypeTag(exerciseType))
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Exercise types come from request parameters, so keep the tag set bounded
+    static String exerciseTypeTag(String exerciseType) {
+        String type = exerciseType == null ? "" : exerciseType.toLowerCase();
+        return KNOWN_EXERCISE_TYPES.contains(type) ? type : "other";
+    }
+
+    /**
+     * Coerces a response from the Python service into the shape the rest of the
+     * backend expects: integer scores in 0-100, a list of feedback strings and the
+     * exercise metadata echoed back.
+     */
+    static Map<String, Object> normalize(Map<String, Object> raw, String exerciseType, String targetText) {
+        if (raw == null || !(raw.get("overallScore") instanceof Number)) {
+            throw new NlpUnavailableException("NLP response did not contain an overallScore");
+        }
+
+        Map<String, Object> result = new HashMap<>(raw);
+        int overall = clampScore((Number) raw.get("overallScore"));
+        for (String key : SCORE_KEYS) {
+            Object value = raw.get(key);
+            result.put(key, value instanceof Number ? clampScore((Number) value) : overall);
+        }
+
+        List<String> feedback = new ArrayList<>();
+        if (raw.get("feedback") instanceof List<?> items) {
+            for (Object item : items) {
+                if (item != null) {
+                    feedback.add(item.toString());
+                }
+            }
+        }
+        result.put("feedback", feedback);
+
+        Object improvement = raw.get("improvement");
+        result.put("improvement", improvement instanceof Number ? ((Number) improvement).intValue() : 0);
+        result.put("exerciseType", exerciseType);
+        result.put("targetText", targetText);
+        result.put("timestamp", LocalDateTime.now().toString());
+        return result;
+    }
+
+    private static int clampScore(Number value) {
+        return Math.max(0, Math.min(100, (int) Math.round(value.doubleValue())));
+    }
+
+    public SimpleCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    public static class NlpUnavailableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public NlpUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.speechtherapy.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups pending NLP analyses by exercise type and sends each group as a single
+ * batch call. A group is dispatched once it reaches {@code nlp.batch.max-size}
+ * clips or once its first clip has waited {@code nlp.batch.window-ms}, whichever
+ * comes first. Results are fanned back out to the callers' futures.
+ */
+@Service
+public class NlpRequestBatcher {
+
+    private final NlpAnalysisClient nlpAnalysisClient;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+
+    private final ScheduledExecutorService scheduler;
+    private final Object lock = new Object();
+    private final Map<String, PendingBatch> pending = new HashMap<>();
+
+    public NlpRequestBatcher(NlpAnalysisClient nlpAnalysisClient, MeterRegistry meterRegistry,
+                             @Value("${nlp.batch.enabled:true}") boolean enabled,
+                             @Value("${nlp.batch.window-ms:20}") long windowMs,
+                             @Value("${nlp.batch.max-size:16}") int maxBatchSize) {
+        this.nlpAnalysisClient = nlpAnalysisClient;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = Timer.builder("nlp.batch.wait")
+            .description("Time a clip waited in the batcher before its batch was sent")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nlp-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Map<String, Object>> submit(Path audioFile, String exerciseType, String targetText) {
+        PendingClip clip = new PendingClip(audioFile, targetText, System.nanoTime(), new CompletableFuture<>());
+        PendingBatch full = null;
+
+        synchronized (lock) {
+            PendingBatch batch = pending.computeIfAbsent(exerciseType, PendingBatch::new);
+            batch.clips.add(clip);
+            if (batch.clips.size() >= maxBatchSize) {
+                pending.remove(exerciseType);
+                if (batch.timer != null) {
+                    batch.timer.cancel(false);
+                }
+                full = batch;
+            } else if (batch.clips.size() == 1) {
+                batch.timer = scheduler.schedule(() -> flushExpired(batch), windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return clip.future;
+    }
+
+    private void flushExpired(PendingBatch batch) {
+        synchronized (lock) {
+            // The batch may already have been dispatched because it filled up
+            if (!pending.remove(batch.exerciseType, batch)) {
+                return;
+            }
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(PendingBatch batch) {
+        List<PendingClip> clips = batch.clips;
+        long now = System.nanoTime();
+        List<Path> audioFiles = new ArrayList<>(clips.size());
+        List<String> targetTexts = new ArrayList<>(clips.size());
+        for (PendingClip clip : clips) {
+            waitTimer.record(now - clip.enqueuedAt, TimeUnit.NANOSECONDS);
+            audioFiles.add(clip.audioFile);
+            targetTexts.add(clip.targetText);
+        }
+        DistributionSummary.builder("nlp.batch.size")
+            .description("Clips per batch sent to the NLP service")
+            .tag("exerciseType", NlpAnalysisClient.exerciseTypeTag(batch.exerciseType))
+            .register(meterRegistry)
+            .record(clips.size());
+
+        nlpAnalysisClient.analyzeBatch(audioFiles, batch.exerciseType, targetTexts)
+            .subscribe(results -> {
+                for (int i = 0; i < clips.size(); i++) {
+                    clips.get(i).future.complete(results.get(i));
+                }
+            }, error -> {
+                for (PendingClip clip : clips) {
+                    clip.future.completeExceptionally(error);
+                }
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        List<PendingBatch> remaining;
+        synchronized (lock) {
+            remaining = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        remaining.forEach(this::dispatch);
+    }
+
+    private record PendingClip(Path audioFile, String targetText, long enqueuedAt,
+                               CompletableFuture<Map<String, Object>> future) {}
+
+    private static class PendingBatch {
+        private final String exerciseType;
+        private final List<PendingClip> clips = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+
+        PendingBatch(String exerciseType) {
+            this.exerciseType = exerciseType;
+        }
+    }
+}
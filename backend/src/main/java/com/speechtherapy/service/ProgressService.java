@@ -1,6 +1,7 @@
 package com.speechtherapy.service;
 
 import com.speechtherapy.model.User;
+import com.speechtherapy.model.RunningAverage;
 import com.speechtherapy.model.UserProgress;
 import com.speechtherapy.model.RedeemCode;
 import com.speechtherapy.repository.UserProgressRepository;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -60,7 +62,7 @@ public class ProgressService {
         
         int weeklyPracticeTime = weeklyProgress.stream().mapToInt(UserProgress::getTotalPracticeTime).sum();
         int weeklyExercises = weeklyProgress.stream().mapToInt(UserProgress::getExercisesCompleted).sum();
-        double weeklyAvgScore = weeklyProgress.stream().mapToDouble(UserProgress::getAverageScore).average().orElse(0.0);
+        double weeklyAvgScore = combinedAverage(weeklyProgress);
         long weeklyGoalsMet = weeklyProgress.stream().mapToLong(p -> p.getGoalsMet() ? 1 : 0).sum();
         
         summary.put("weeklyPracticeTime", weeklyPracticeTime);
@@ -102,14 +104,10 @@ public class ProgressService {
     
     public UserProgress updateDailyProgress(User user, Map<String, Object> progressUpdate) {
         LocalDate today = LocalDate.now();
-        Optional<UserProgress> existingProgress = userProgressRepository.findByUserAndPracticeDate(user, today);
-        
-        UserProgress progress;
-        if (existingProgress.isPresent()) {
-            progress = existingProgress.get();
-        } else {
-            progress = new UserProgress(user, today);
-        }
+        // Only the fields set below are written back (see @DynamicUpdate on UserProgress),
+        // so counters the progress buffer adds in the meantime are left alone
+        UserProgress progress = userProgressRepository.findByUserAndPracticeDate(user, today)
+            .orElseGet(() -> new UserProgress(user, today));
         
         // Update fields if provided
         if (progressUpdate.containsKey("practiceTime")) {
@@ -141,9 +139,11 @@ public class ProgressService {
         // This method focuses on daily progress tracking
 
         // Update user's points and streaks if requested
+        // Counters are updated in the database only; callers reload the user to see them
+        LocalDateTime now = LocalDateTime.now();
         int pointsToAdd = (Integer) progressUpdate.getOrDefault("pointsToAdd", 0);
         if (pointsToAdd > 0) {
-            user.setTotalPoints((user.getTotalPoints() == null ? 0 : user.getTotalPoints()) + pointsToAdd);
+            userRepository.incrementTotals(user.getId(), pointsToAdd, 0, now);
         }
 
         // Streak logic (increment if practiced today; reset if missed yesterday)
@@ -151,15 +151,15 @@ public class ProgressService {
             LocalDate yesterday = today.minusDays(1);
             boolean practicedYesterday = userProgressRepository.findByUserAndPracticeDate(user, yesterday).isPresent();
             if (practicedYesterday) {
-                user.setStreakDays((user.getStreakDays() == null ? 0 : user.getStreakDays()) + 1);
+                userRepository.incrementStreak(user.getId(), now);
             } else {
-                user.setStreakDays(1);
+                userRepository.setStreak(user.getId(), 1, now);
             }
         }
 
         // Generate redeem code at thresholds (e.g., 500, 1000, 1500 ...)
         int thresholdBase = 500;
-        int totalPoints = user.getTotalPoints() == null ? 0 : user.getTotalPoints();
+        int totalPoints = userRepository.findTotalPointsById(user.getId());
         if (totalPoints >= thresholdBase) {
             int highestThresholdReached = (totalPoints / thresholdBase) * thresholdBase;
             // Prevent duplicates for the same threshold
@@ -171,7 +171,6 @@ public class ProgressService {
             }
         }
 
-        userRepository.save(user);
         return saved;
     }
     
@@ -188,8 +187,8 @@ public class ProgressService {
             List<UserProgress> firstHalf = monthlyData.subList(0, monthlyData.size() / 2);
             List<UserProgress> secondHalf = monthlyData.subList(monthlyData.size() / 2, monthlyData.size());
             
-            double firstHalfAvg = firstHalf.stream().mapToDouble(UserProgress::getAverageScore).average().orElse(0.0);
-            double secondHalfAvg = secondHalf.stream().mapToDouble(UserProgress::getAverageScore).average().orElse(0.0);
+            double firstHalfAvg = combinedAverage(firstHalf);
+            double secondHalfAvg = combinedAverage(secondHalf);
             
             analytics.put("scoreTrend", secondHalfAvg - firstHalfAvg);
             analytics.put("improvementPercentage", ((secondHalfAvg - firstHalfAvg) / firstHalfAvg) * 100);
@@ -236,4 +235,11 @@ public class ProgressService {
         return userProgressRepository.findByUserAndPracticeDate(user, today)
             .orElse(new UserProgress(user, today));
     }
-}
\ No newline at end of file
+    
+    // Average over every score in the given days, so busy days weigh more than quiet ones
+    private static double combinedAverage(List<UserProgress> days) {
+        RunningAverage combined = new RunningAverage();
+        days.forEach(day -> combined.merge(day.getScore()));
+        return combined.getAverage();
+    }
+}
@@ -0,0 +1,302 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.model.Exercise;
+import com.speechtherapy.model.RunningAverage;
+import com.speechtherapy.model.User;
+import com.speechtherapy.model.UserProgress;
+import com.speechtherapy.repository.UserProgressRepository;
+import com.speechtherapy.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collects per-exercise progress updates in memory and writes them in batches.
+ * Updates for the same user and day are merged into one delta (points, counts,
+ * practice time and the running score behind the daily average), and a flush applies
+ * all pending deltas in one transaction. A flush runs every
+ * {@code progress.write-behind.flush-interval-ms} or as soon as
+ * {@code progress.write-behind.max-pending-events} updates are waiting.
+ *
+ * <p>Each delta is taken out of the buffer before its flush and put back if the
+ * flush fails, so it is applied exactly once. On a graceful shutdown the buffer is
+ * drained after the web server has stopped taking requests; updates arriving after
+ * that are written straight through. Deltas still buffered when the process dies
+ * abruptly are lost, which bounds the loss to one flush interval.
+ */
+@Service
+public class ProgressWriteBehindBuffer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressWriteBehindBuffer.class);
+
+    // Assume 3 minutes per exercise
+    static final int MINUTES_PER_EXERCISE = 3;
+
+    private final UserRepository userRepository;
+    private final UserProgressRepository userProgressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int maxPendingEvents;
+
+    private final Object lock = new Object();
+    private Map<Key, ProgressDelta> pending = new HashMap<>();
+    private int pendingEvents;
+    private volatile boolean running;
+
+    // Only one flush writes at a time, so a retried delta can't race a newer one
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService scheduler;
+
+    private final Timer flushTimer;
+    private final Counter flushedEvents;
+    private final Counter failedFlushes;
+
+    public ProgressWriteBehindBuffer(UserRepository userRepository,
+                                     UserProgressRepository userProgressRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${progress.write-behind.enabled:true}") boolean enabled,
+                                     @Value("${progress.write-behind.flush-interval-ms:500}") long flushIntervalMs,
+                                     @Value("${progress.write-behind.max-pending-events:500}") int maxPendingEvents) {
+        this.userRepository = userRepository;
+        this.userProgressRepository = userProgressRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+
+        Gauge.builder("progress.writebehind.pending", this, buffer -> buffer.pendingEvents)
+            .description("Progress updates buffered and not yet written")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("progress.writebehind.flush")
+            .description("Time taken to write one batch of buffered progress updates")
+            .register(meterRegistry);
+        this.flushedEvents = Counter.builder("progress.writebehind.flushed")
+            .description("Progress updates written by the write-behind buffer")
+            .register(meterRegistry);
+        this.failedFlushes = Counter.builder("progress.writebehind.failures")
+            .description("Flushes that failed and were put back for retry")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record one completed exercise for the user. Applied to the user's totals and
+     * today's progress on the next flush.
+     */
+    public void record(User user, Exercise exercise) {
+        Key key = new Key(user.getId(), LocalDate.now());
+        boolean flushNow;
+        synchronized (lock) {
+            pending.computeIfAbsent(key, k -> new ProgressDelta()).add(exercise);
+            pendingEvents++;
+            flushNow = !enabled || !running || pendingEvents >= maxPendingEvents;
+        }
+        if (!flushNow) {
+            return;
+        }
+        if (enabled && running) {
+            try {
+                scheduler.execute(this::flushQuietly);
+                return;
+            } catch (RejectedExecutionException e) {
+                // stop() shut the scheduler down after the check above; write through instead
+            }
+        }
+        // Write-through when buffering is off or the buffer has already been drained
+        flush();
+    }
+
+    /**
+     * Write every pending delta in one transaction. If the write fails the deltas
+     * are merged back into the buffer and the exception is rethrown.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Key, ProgressDelta> batch;
+            int events;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                events = pendingEvents;
+                pending = new HashMap<>();
+                pendingEvents = 0;
+            }
+
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> apply(batch)));
+                flushedEvents.increment(events);
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                synchronized (lock) {
+                    batch.forEach((key, delta) -> pending.merge(key, delta, ProgressDelta::merge));
+                    pendingEvents += events;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Progress flush failed; {} updates kept for the next attempt", pendingEvents, e);
+        }
+    }
+
+    private void apply(Map<Key, ProgressDelta> batch) {
+        Set<Long> userIds = batch.keySet().stream().map(Key::userId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        // Oldest day first, so a batch spanning midnight sees the earlier day's row for the streak
+        List<Key> keys = new ArrayList<>(batch.keySet());
+        keys.sort(Comparator.comparing(Key::date));
+
+        for (Key key : keys) {
+            User user = users.get(key.userId());
+            if (user == null) {
+                log.warn("Dropping buffered progress for missing user {}", key.userId());
+                continue;
+            }
+            ProgressDelta delta = batch.get(key);
+            int dailyGoal = user.getDailyGoal() != null ? user.getDailyGoal() : 0;
+
+            // Counters are added in the database, so writes from other paths are never overwritten
+            int updated = userProgressRepository.incrementDaily(key.userId(), key.date(), delta.exercises,
+                delta.exercises * MINUTES_PER_EXERCISE, delta.points, delta.scores.getSum(), delta.scores.getCount(), delta.phoneme, delta.word,
+                delta.sentence, delta.conversation, dailyGoal, now);
+            if (updated == 0) {
+                // First practice that day. A concurrent insert of the same row fails the unique
+                // key, and the whole batch is retried on the next flush.
+                if (userProgressRepository.existsByUserIdAndPracticeDate(key.userId(), key.date().minusDays(1))) {
+                    userRepository.incrementStreak(key.userId(), now);
+                } else {
+                    userRepository.setStreak(key.userId(), 1, now);
+                }
+                UserProgress progress = new UserProgress(user, key.date());
+                delta.applyTo(progress, dailyGoal);
+                userProgressRepository.save(progress);
+            }
+            userRepository.incrementTotals(key.userId(), delta.points, delta.exercises, now);
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Could not write {} buffered progress updates at shutdown", pendingEvents, e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, so requests still in flight get buffered and drained
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record Key(Long userId, LocalDate date) {}
+
+    /**
+     * Changes accumulated for one user on one day.
+     */
+    private static final class ProgressDelta {
+        private int exercises;
+        private int points;
+        private int phoneme;
+        private int word;
+        private int sentence;
+        private int conversation;
+        private final RunningAverage scores = new RunningAverage();
+
+        void add(Exercise exercise) {
+            int earned = exercise.getPointsEarned() != null ? exercise.getPointsEarned() : 0;
+            exercises++;
+            points += earned;
+            scores.add(exercise.getOverallScore() != null ? exercise.getOverallScore() : 0);
+            String type = exercise.getExerciseType() != null ? exercise.getExerciseType().toLowerCase() : "";
+            switch (type) {
+                case "phoneme" -> phoneme++;
+                case "word" -> word++;
+                case "sentence" -> sentence++;
+                case "conversation" -> conversation++;
+                default -> { }
+            }
+        }
+
+        ProgressDelta merge(ProgressDelta other) {
+            exercises += other.exercises;
+            points += other.points;
+            phoneme += other.phoneme;
+            word += other.word;
+            sentence += other.sentence;
+            conversation += other.conversation;
+            scores.merge(other.scores);
+            return this;
+        }
+
+        // Fill in a day's new progress row
+        void applyTo(UserProgress progress, int dailyGoal) {
+            progress.setExercisesCompleted(progress.getExercisesCompleted() + exercises);
+            progress.setTotalPracticeTime(progress.getTotalPracticeTime() + exercises * MINUTES_PER_EXERCISE);
+            progress.setPointsEarned(progress.getPointsEarned() + points);
+            progress.setPhonemeExercises(progress.getPhonemeExercises() + phoneme);
+            progress.setWordExercises(progress.getWordExercises() + word);
+            progress.setSentenceExercises(progress.getSentenceExercises() + sentence);
+            progress.setConversationExercises(progress.getConversationExercises() + conversation);
+            progress.addScores(scores);
+            progress.setGoalsMet(progress.getTotalPracticeTime() >= dailyGoal);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.speechtherapy.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory state of one asynchronous speech analysis. Status transitions and
+ * SSE subscriptions are guarded by the job's own monitor.
+ */
+public class SpeechAnalysisJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String exerciseType;
+    private final Instant submittedAt = Instant.now();
+    private final List<SseEmitter> subscribers = new ArrayList<>();
+
+    private Status status = Status.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Map<String, Object> result;
+    private String error;
+
+    public SpeechAnalysisJob(String id, String exerciseType) {
+        this.id = id;
+        this.exerciseType = exerciseType;
+    }
+
+    public String getId() { return id; }
+
+    public String getExerciseType() { return exerciseType; }
+
+    public Instant getSubmittedAt() { return submittedAt; }
+
+    public synchronized Status getStatus() { return status; }
+
+    public synchronized Instant getFinishedAt() { return finishedAt; }
+
+    public synchronized boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    synchronized void markRunning() {
+        this.status = Status.RUNNING;
+        this.startedAt = Instant.now();
+    }
+
+    void complete(Map<String, Object> result) {
+        finish(Status.COMPLETED, result, null);
+    }
+
+    void fail(String error) {
+        finish(Status.FAILED, null, error);
+    }
+
+    private void finish(Status status, Map<String, Object> result, String error) {
+        List<SseEmitter> toNotify;
+        Map<String, Object> snapshot;
+        synchronized (this) {
+            this.status = status;
+            this.result = result;
+            this.error = error;
+            this.finishedAt = Instant.now();
+            toNotify = new ArrayList<>(subscribers);
+            subscribers.clear();
+            snapshot = toMap();
+        }
+        for (SseEmitter emitter : toNotify) {
+            send(emitter, snapshot);
+        }
+    }
+
+    /**
+     * Registers an emitter for the final result. If the job has already finished the
+     * result is sent straight away.
+     */
+    public void subscribe(SseEmitter emitter) {
+        Map<String, Object> snapshot;
+        boolean pending;
+        synchronized (this) {
+            snapshot = toMap();
+            pending = !isDone();
+            if (pending) {
+                subscribers.add(emitter);
+            }
+        }
+        if (!pending) {
+            send(emitter, snapshot);
+            return;
+        }
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        try {
+            emitter.send(SseEmitter.event().name("status").data(snapshot));
+        } catch (IOException | IllegalStateException e) {
+            // Either the client went away or the result already completed the stream
+            unsubscribe(emitter);
+        }
+    }
+
+    private synchronized void unsubscribe(SseEmitter emitter) {
+        subscribers.remove(emitter);
+    }
+
+    private static void send(SseEmitter emitter, Map<String, Object> snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name("result").data(snapshot));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("jobId", id);
+        map.put("status", status.name());
+        map.put("exerciseType", exerciseType);
+        map.put("submittedAt", submittedAt.toString());
+        if (startedAt != null) {
+            map.put("startedAt", startedAt.toString());
+        }
+        if (finishedAt != null) {
+            map.put("finishedAt", finishedAt.toString());
+        }
+        if (result != null) {
+            map.put("result", result);
+        }
+        if (error != null) {
+            map.put("error", error);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,144 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs speech analyses on a bounded worker pool so the request thread only has to
+ * spool the upload. Submissions beyond the queue capacity are rejected.
+ */
+@Service
+public class SpeechAnalysisJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpeechAnalysisJobService.class);
+
+    private final SpeechAnalysisService speechAnalysisService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, SpeechAnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Duration jobTtl;
+
+    private final Timer waitTimer;
+    private final Timer serviceTimer;
+    private final Counter rejectedCounter;
+
+    public SpeechAnalysisJobService(SpeechAnalysisService speechAnalysisService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${speech.jobs.workers:4}") int workers,
+                                    @Value("${speech.jobs.queue-capacity:100}") int queueCapacity,
+                                    @Value("${speech.jobs.ttl-minutes:15}") long ttlMinutes) {
+        this.speechAnalysisService = speechAnalysisService;
+        this.jobTtl = Duration.ofMinutes(ttlMinutes);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new WorkerThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("speech.jobs.queue.depth", executor, e -> e.getQueue().size())
+            .description("Analysis jobs waiting for a worker")
+            .register(meterRegistry);
+        Gauge.builder("speech.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Analysis jobs currently running")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("speech.jobs.wait")
+            .description("Time a job spent queued before a worker picked it up")
+            .register(meterRegistry);
+        this.serviceTimer = Timer.builder("speech.jobs.service")
+            .description("Time a worker spent processing a job")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("speech.jobs.rejected")
+            .description("Submissions rejected because the job queue was full")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Spools the upload and queues it for analysis.
+     *
+     * @throws RejectedExecutionException when the job queue is full
+     */
+    public SpeechAnalysisJob submit(MultipartFile audioFile, String exerciseType,
+                                    String targetText, User user) throws IOException {
+        SpooledAudio audio = speechAnalysisService.spoolAudio(audioFile);
+        SpeechAnalysisJob job = new SpeechAnalysisJob(UUID.randomUUID().toString(), exerciseType);
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job, audio, targetText, user));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            rejectedCounter.increment();
+            audio.close();
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<SpeechAnalysisJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(SpeechAnalysisJob job, SpooledAudio audio, String targetText, User user) {
+        waitTimer.record(Duration.between(job.getSubmittedAt(), Instant.now()));
+        job.markRunning();
+
+        long start = System.nanoTime();
+        try (audio) {
+            Map<String, Object> result = speechAnalysisService.analyzeSpooled(
+                audio, job.getExerciseType(), targetText, user);
+            job.complete(result);
+        } catch (Exception e) {
+            log.warn("Speech analysis job {} failed", job.getId(), e);
+            job.fail("Analysis failed: " + e.getMessage());
+        } finally {
+            serviceTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Drop finished jobs once clients have had time to collect them
+    @Scheduled(fixedDelayString = "${speech.jobs.cleanup-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(jobTtl);
+        jobs.values().removeIf(job -> job.isDone() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "speech-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -3,14 +3,18 @@ package com.speechtherapy.service;
 import com.speechtherapy.model.User;
 import com.speechtherapy.model.Exercise;
 import com.speechtherapy.repository.ExerciseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -19,28 +23,57 @@ public class SpeechAnalysisService {
     
     private final ExerciseRepository exerciseRepository;
     private final UserService userService;
-    private final WebClient webClient;
+    private final AudioIngestionService audioIngestionService;
+    private final NlpAnalysisClient nlpAnalysisClient;
+    private final NlpRequestBatcher nlpRequestBatcher;
+    
+    // Analysis results keyed by audio hash, exercise type and target text, so that
+    // resubmitting an identical clip does not go back to the NLP service
+    private final Cache<String, Map<String, Object>> analysisCache;
     
     @Autowired
-    public SpeechAnalysisService(ExerciseRepository exerciseRepository, UserService userService) {
+    public SpeechAnalysisService(ExerciseRepository exerciseRepository, UserService userService,
+                                 AudioIngestionService audioIngestionService,
+                                 NlpAnalysisClient nlpAnalysisClient,
+                                 NlpRequestBatcher nlpRequestBatcher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${speech.analysis.cache.max-size:10000}") long cacheMaxSize,
+                                 @Value("${speech.analysis.cache.ttl-minutes:60}") long cacheTtlMinutes) {
         this.exerciseRepository = exerciseRepository;
         this.userService = userService;
-        this.webClient = WebClient.builder()
-            .baseUrl("http://localhost:8080") // Python NLP service URL
+        this.audioIngestionService = audioIngestionService;
+        this.nlpAnalysisClient = nlpAnalysisClient;
+        this.nlpRequestBatcher = nlpRequestBatcher;
+        this.analysisCache = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+            .recordStats()
             .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, analysisCache, "speech.analysis.results");
     }
     
     public Map<String, Object> analyzeAudio(MultipartFile audioFile, String exerciseType, 
                                            String targetText, User user) throws IOException {
         
-        // Save audio file temporarily
-        String fileName = "audio_" + System.currentTimeMillis() + ".wav";
-        Path tempFile = Paths.get(System.getProperty("java.io.tmpdir"), fileName);
-        Files.write(tempFile, audioFile.getBytes());
-        
+        // Stream the upload to a uniquely named spool file; it is deleted when closed
+        try (SpooledAudio audio = audioIngestionService.spool(audioFile)) {
+            return analyzeSpooled(audio, exerciseType, targetText, user);
+        }
+    }
+    
+    public SpooledAudio spoolAudio(MultipartFile audioFile) throws IOException {
+        return audioIngestionService.spool(audioFile);
+    }
+    
+    /**
+     * Runs analysis, the exercise record write and the progress update for audio that
+     * has already been spooled. The caller stays responsible for closing {@code audio}.
+     */
+    public Map<String, Object> analyzeSpooled(SpooledAudio audio, String exerciseType,
+                                              String targetText, User user) {
         try {
             // Call Python NLP service for analysis
-            Map<String, Object> analysisResult = callPythonAnalysisService(tempFile.toString(), exerciseType, targetText);
+            Map<String, Object> analysisResult = analyzeWithCache(audio, exerciseType, targetText);
             
             // Save exercise record to database
             Exercise exercise = saveExerciseRecord(user, exerciseType, targetText, analysisResult);
@@ -53,20 +86,54 @@ public class SpeechAnalysisService {
         } catch (Exception e) {
             // Fallback to mock analysis if Python service is unavailable
             return generateMockAnalysis(exerciseType, targetText);
-        } finally {
-            // Clean up temporary file
-            Files.deleteIfExists(tempFile);
         }
     }
     
-    private Map<String, Object> callPythonAnalysisService(String audioFilePath, String exerciseType, String targetText) {
-        try {
-            // This would call the Python NLP service
-            // For now, return mock data since Python service isn't implemented yet
+    private Map<String, Object> analyzeWithCache(SpooledAudio audio, String exerciseType, String targetText) {
+        if (!nlpAnalysisClient.isEnabled()) {
+            // The mock scorer stands in for the NLP service; its results are never cached,
+            // so they can't be served as real analyses once the service is turned on
             return generateMockAnalysis(exerciseType, targetText);
-        } catch (Exception e) {
+        }
+        
+        String cacheKey = audio.getSha256() + '\u0000' + exerciseType + '\u0000' + targetText;
+        Map<String, Object> cached = analysisCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            Map<String, Object> result = copyResult(cached);
+            result.put("timestamp", LocalDateTime.now().toString());
+            return result;
+        }
+        
+        Map<String, Object> analysisResult = callPythonAnalysisService(audio.getPath(), exerciseType, targetText);
+        if (analysisResult == null) {
+            // NLP call failed: score with the mock, but don't cache a fallback result
             return generateMockAnalysis(exerciseType, targetText);
         }
+        analysisCache.put(cacheKey, copyResult(analysisResult));
+        return analysisResult;
+    }
+    
+    // Callers may modify what they get back, so the cached entry shares no mutable values with it
+    private static Map<String, Object> copyResult(Map<String, Object> result) {
+        Map<String, Object> copy = new HashMap<>(result);
+        if (copy.get("feedback") instanceof List<?> feedback) {
+            copy.put("feedback", new ArrayList<>(feedback));
+        }
+        return copy;
+    }
+    
+    /**
+     * Returns the NLP analysis, or {@code null} if the service failed or its circuit
+     * is open.
+     */
+    private Map<String, Object> callPythonAnalysisService(Path audioFile, String exerciseType, String targetText) {
+        // The client enforces its own deadline, so this wait is bounded
+        Mono<Map<String, Object>> analysis = nlpRequestBatcher.isEnabled()
+            ? Mono.fromFuture(nlpRequestBatcher.submit(audioFile, exerciseType, targetText))
+            : nlpAnalysisClient.analyze(audioFile, exerciseType, targetText);
+        return analysis
+            .onErrorResume(e -> Mono.empty())
+            .block();
     }
     
     public Map<String, Object> generateMockAnalysis(String exerciseType, String targetText) {
@@ -0,0 +1,34 @@
+package com.speechtherapy.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An uploaded audio clip that has been streamed to a uniquely named spool file.
+ * Closing it deletes the spool file.
+ */
+public class SpooledAudio implements AutoCloseable {
+
+    private final Path path;
+    private final long size;
+    private final String sha256;
+
+    public SpooledAudio(Path path, long size, String sha256) {
+        this.path = path;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public Path getPath() { return path; }
+
+    public long getSize() { return size; }
+
+    /** Hex SHA-256 of the audio bytes, computed while spooling. */
+    public String getSha256() { return sha256; }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,191 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.model.GameScore;
+import com.speechtherapy.model.ScoreBreakdown;
+import com.speechtherapy.model.UserGameStats;
+import com.speechtherapy.repository.GameScoreRepository;
+import com.speechtherapy.repository.UserGameStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains the per-user {@link UserGameStats} aggregate. Each score insert folds
+ * into the aggregate inside the caller's transaction, so reads are a single primary
+ * key lookup. A reconciliation job rebuilds the aggregates from the raw scores to
+ * repair drift, e.g. after old scores are deleted.
+ */
+@Service
+public class UserGameStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserGameStatsService.class);
+
+    private static final String INSERT_EMPTY_STATS =
+        "INSERT INTO user_game_stats (user_id, games_count, points_sum, accuracy_sum, accuracy_count, " +
+        "best_points, version, updated_at) VALUES (?, 0, 0, 0, 0, 0, 0, ?)";
+
+    private final UserGameStatsRepository userGameStatsRepository;
+    private final GameScoreRepository gameScoreRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer reconcileTimer;
+
+    public UserGameStatsService(UserGameStatsRepository userGameStatsRepository,
+                                GameScoreRepository gameScoreRepository,
+                                TransactionTemplate transactionTemplate,
+                                JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry) {
+        this.userGameStatsRepository = userGameStatsRepository;
+        this.gameScoreRepository = gameScoreRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileTimer = Timer.builder("game.stats.reconcile")
+            .description("Time taken to rebuild all per-user game stats from raw scores")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Fold a newly saved score into its user's aggregate. Must run in the same
+     * transaction as the score insert so the two commit or roll back together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(GameScore score) {
+        Long userId = score.getUser().getId();
+        UserGameStats stats = lockOrCreate(userId);
+        if (stats.getTotals().getCount() == 0) {
+            // First score since the row was created: start from every score the user has,
+            // which already includes this one (it was inserted earlier in this transaction)
+            replaceFromScores(stats, userId);
+        } else {
+            stats.add(score);
+        }
+        userGameStatsRepository.save(stats);
+    }
+
+    /**
+     * The stored aggregate for a user. Users whose scores predate the aggregate
+     * get it built on first read; users without scores get none.
+     */
+    public Optional<UserGameStats> find(Long userId) {
+        Optional<UserGameStats> stats = userGameStatsRepository.findById(userId);
+        if (stats.isPresent() || !gameScoreRepository.existsByUserId(userId)) {
+            return stats;
+        }
+        return rebuild(userId);
+    }
+
+    /**
+     * Recompute one user's aggregate from their raw scores. Users without scores
+     * have their aggregate removed.
+     */
+    public Optional<UserGameStats> rebuild(Long userId) {
+        return transactionTemplate.execute(status -> {
+            Optional<UserGameStats> existing = userGameStatsRepository.findByIdForUpdate(userId);
+            if (existing.isEmpty() && !gameScoreRepository.existsByUserId(userId)) {
+                return Optional.<UserGameStats>empty();
+            }
+            // Totals are read under the row lock, so a score recorded concurrently is
+            // either already committed and counted here, or waits and is added after
+            UserGameStats stats = existing.isPresent() ? existing.get() : lockOrCreate(userId);
+            if (!replaceFromScores(stats, userId)) {
+                userGameStatsRepository.delete(stats);
+                return Optional.<UserGameStats>empty();
+            }
+            return Optional.of(userGameStatsRepository.save(stats));
+        });
+    }
+
+    /**
+     * Lock the user's aggregate row, inserting an empty one first if there is none.
+     * The insert runs under a savepoint, so when two transactions race to create the
+     * row the loser's duplicate key only undoes that insert, not the caller's
+     * transaction; it then locks the row the winner created.
+     */
+    private UserGameStats lockOrCreate(Long userId) {
+        Optional<UserGameStats> stats = userGameStatsRepository.findByIdForUpdate(userId);
+        if (stats.isPresent()) {
+            return stats.get();
+        }
+        // Hibernate's JpaDialect has no savepoint support, so set one on the transaction's connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                jdbcTemplate.update(INSERT_EMPTY_STATS, userId, Timestamp.valueOf(LocalDateTime.now()));
+            } catch (DuplicateKeyException e) {
+                connection.rollback(savepoint);
+                log.debug("Game stats row for user {} was created concurrently", userId);
+            }
+            return null;
+        });
+        return userGameStatsRepository.findByIdForUpdate(userId)
+            .orElseThrow(() -> new IllegalStateException("Game stats row for user " + userId + " is missing"));
+    }
+
+    // Returns false if the user has no scores left
+    private boolean replaceFromScores(UserGameStats stats, Long userId) {
+        Map<String, ScoreBreakdown> games = toBreakdowns(gameScoreRepository.getGameTotalsByUserId(userId));
+        if (games.isEmpty()) {
+            return false;
+        }
+        Map<String, ScoreBreakdown> difficulties = toBreakdowns(gameScoreRepository.getDifficultyTotalsByUserId(userId));
+        stats.replace(games, difficulties);
+        return true;
+    }
+
+    /**
+     * Rebuild every aggregate, one user per transaction. Runs nightly and can be
+     * triggered from the admin API.
+     */
+    @Scheduled(cron = "${game.stats.reconcile-cron:0 30 3 * * *}")
+    public int reconcileAll() {
+        return reconcileTimer.record(() -> {
+            // Users with scores, plus users whose scores have all been deleted since
+            Set<Long> userIds = new LinkedHashSet<>(gameScoreRepository.findDistinctUserIds());
+            userIds.addAll(userGameStatsRepository.findAllUserIds());
+
+            int rebuilt = 0;
+            for (Long userId : userIds) {
+                try {
+                    rebuild(userId);
+                    rebuilt++;
+                } catch (Exception e) {
+                    log.warn("Could not reconcile game stats for user {}", userId, e);
+                }
+            }
+            log.info("Reconciled game stats for {} users", rebuilt);
+            return rebuilt;
+        });
+    }
+
+    private static Map<String, ScoreBreakdown> toBreakdowns(List<Object[]> rows) {
+        Map<String, ScoreBreakdown> breakdowns = new HashMap<>();
+        for (Object[] row : rows) {
+            breakdowns.put((String) row[0], new ScoreBreakdown(
+                ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(),
+                ((Number) row[3]).longValue(),
+                ((Number) row[4]).longValue(),
+                row[5] != null ? ((Number) row[5]).intValue() : 0));
+        }
+        return breakdowns;
+    }
+}
@@ -1,8 +1,8 @@
 package com.speechtherapy.service;
 
+import com.speechtherapy.dto.UserSummary;
 import com.speechtherapy.model.User;
 import com.speechtherapy.model.Exercise;
-import com.speechtherapy.model.UserProgress;
 import com.speechtherapy.repository.UserRepository;
 import com.speechtherapy.repository.ExerciseRepository;
 import com.speechtherapy.repository.UserProgressRepository;
@@ -10,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -28,10 +27,18 @@ public class UserService {
     @Autowired
     private UserProgressRepository userProgressRepository;
     
+    @Autowired
+    private ProgressWriteBehindBuffer progressWriteBehindBuffer;
+    
     public User getUserById(Long id) {
         return userRepository.findById(id).orElse(null);
     }
     
+    // The profile columns of a user, without loading the entity
+    public UserSummary getUserSummary(Long id) {
+        return userRepository.findSummaryById(id).orElse(null);
+    }
+    
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email).orElse(null);
     }
@@ -80,79 +87,8 @@ public class UserService {
     }
     
     public void updateUserProgress(User user, Exercise exercise) {
-        // Update user totals
-        user.setTotalPoints(user.getTotalPoints() + exercise.getPointsEarned());
-        user.setExercisesCompleted(user.getExercisesCompleted() + 1);
-        
-        // Update streak (simplified logic)
-        updateUserStreak(user);
-        
-        userRepository.save(user);
-        
-        // Update daily progress
-        updateDailyProgress(user, exercise);
-    }
-    
-    private void updateUserStreak(User user) {
-        LocalDate today = LocalDate.now();
-        Optional<UserProgress> todayProgress = userProgressRepository.findByUserAndPracticeDate(user, today);
-        
-        if (todayProgress.isEmpty()) {
-            // First exercise today, potentially continuing streak
-            LocalDate yesterday = today.minusDays(1);
-            Optional<UserProgress> yesterdayProgress = userProgressRepository.findByUserAndPracticeDate(user, yesterday);
-            
-            if (yesterdayProgress.isPresent()) {
-                user.setStreakDays(user.getStreakDays() + 1);
-            } else {
-                user.setStreakDays(1); // New streak
-            }
-        }
-        // If already practiced today, streak remains the same
-    }
-    
-    private void updateDailyProgress(User user, Exercise exercise) {
-        LocalDate today = LocalDate.now();
-        Optional<UserProgress> todayProgressOpt = userProgressRepository.findByUserAndPracticeDate(user, today);
-        
-        UserProgress todayProgress;
-        if (todayProgressOpt.isPresent()) {
-            todayProgress = todayProgressOpt.get();
-        } else {
-            todayProgress = new UserProgress(user, today);
-        }
-        
-        // Update progress metrics
-        todayProgress.setExercisesCompleted(todayProgress.getExercisesCompleted() + 1);
-        todayProgress.setTotalPracticeTime(todayProgress.getTotalPracticeTime() + 3); // Assume 3 minutes per exercise
-        todayProgress.setPointsEarned(todayProgress.getPointsEarned() + exercise.getPointsEarned());
-        
-        // Update exercise type counters
-        switch (exercise.getExerciseType().toLowerCase()) {
-            case "phoneme":
-                todayProgress.setPhonemeExercises(todayProgress.getPhonemeExercises() + 1);
-                break;
-            case "word":
-                todayProgress.setWordExercises(todayProgress.getWordExercises() + 1);
-                break;
-            case "sentence":
-                todayProgress.setSentenceExercises(todayProgress.getSentenceExercises() + 1);
-                break;
-            case "conversation":
-                todayProgress.setConversationExercises(todayProgress.getConversationExercises() + 1);
-                break;
-        }
-        
-        // Calculate average score
-        double currentAvg = todayProgress.getAverageScore();
-        int exerciseCount = todayProgress.getExercisesCompleted();
-        double newAvg = ((currentAvg * (exerciseCount - 1)) + exercise.getOverallScore()) / exerciseCount;
-        todayProgress.setAverageScore(newAvg);
-        
-        // Check if goals are met
-        todayProgress.setGoalsMet(todayProgress.getTotalPracticeTime() >= user.getDailyGoal());
-        
-        userProgressRepository.save(todayProgress);
+        // Totals, streak and today's progress are written in batches by the buffer
+        progressWriteBehindBuffer.record(user, exercise);
     }
     
     public Map<String, Object> getUserStatistics(User user) {
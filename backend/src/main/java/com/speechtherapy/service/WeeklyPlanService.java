@@ -1,5 +1,6 @@
 package com.speechtherapy.service;
 
+import com.speechtherapy.dto.MaintenanceResult;
 import com.speechtherapy.model.*;
 import com.speechtherapy.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +30,9 @@ public class WeeklyPlanService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private WeeklyRolloverJob weeklyRolloverJob;
+    
     /**
      * Generate or get current week's plan for a user
      */
@@ -62,21 +67,14 @@ public class WeeklyPlanService {
         if (dailyProgress.isPresent()) {
             UserProgress progress = dailyProgress.get();
             
-            // Update weekly totals
-            weeklyPlan.setTotalMinutesCompleted(weeklyPlan.getTotalMinutesCompleted() + progress.getTotalPracticeTime());
-            weeklyPlan.setSpeechExercisesCompleted(weeklyPlan.getSpeechExercisesCompleted() + progress.getExercisesCompleted());
-            
             // Check if body exercises were done (assuming 1 body exercise = 5 minutes)
-            if (progress.getTotalPracticeTime() >= 5) {
-                weeklyPlan.setBodyExercisesCompleted(weeklyPlan.getBodyExercisesCompleted() + 1);
-            }
+            int bodyExercises = progress.getTotalPracticeTime() >= 5 ? 1 : 0;
             
-            // Check if week is completed
-            if (weeklyPlan.getTotalMinutesCompleted() >= weeklyPlan.getTotalMinutesGoal()) {
-                weeklyPlan.setIsCompleted(true);
-            }
-            
-            weeklyPlanRepository.save(weeklyPlan);
+            // Update weekly totals in the database; this also marks the week completed
+            // once the minutes goal is reached
+            weeklyPlanRepository.incrementCompleted(weeklyPlan.getId(), progress.getTotalPracticeTime(),
+                progress.getExercisesCompleted(), bodyExercises,
+                progress.getScore().getSum(), progress.getScore().getCount(), LocalDateTime.now());
         }
     }
     
@@ -200,6 +198,7 @@ public class WeeklyPlanService {
         summary.put("totalProgress", weeklyPlan.getProgressPercentage());
         summary.put("bodyExercisesProgress", weeklyPlan.getBodyExercisesProgress());
         summary.put("speechExercisesProgress", weeklyPlan.getSpeechExercisesProgress());
+        summary.put("averageScore", weeklyPlan.getAverageScore());
         summary.put("isOnTrack", weeklyPlan.isOnTrack());
         summary.put("daysRemaining", calculateDaysRemaining());
         summary.put("estimatedCompletion", estimateCompletionDate(weeklyPlan));
@@ -269,19 +268,12 @@ public class WeeklyPlanService {
     }
     
     /**
-     * Reset weekly progress (called on Monday)
+     * Reset weekly progress (called on Monday). The reset runs in chunks on the
+     * rollover job's own thread; the returned future completes when it is done.
      */
-    public void resetWeeklyProgress() {
+    public CompletableFuture<MaintenanceResult> resetWeeklyProgress() {
         LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
-        List<WeeklyPlan> weeklyPlans = weeklyPlanRepository.findByWeekStart(weekStart);
-        
-        for (WeeklyPlan plan : weeklyPlans) {
-            plan.setTotalMinutesCompleted(0);
-            plan.setBodyExercisesCompleted(0);
-            plan.setSpeechExercisesCompleted(0);
-            plan.setIsCompleted(false);
-            weeklyPlanRepository.save(plan);
-        }
+        return weeklyRolloverJob.submit(weekStart, true);
     }
     
     /**
@@ -301,4 +293,18 @@ public class WeeklyPlanService {
         
         return stats;
     }
+    
+    /**
+     * Totals over a user's whole plan history, computed in one aggregate query
+     */
+    public Map<String, Object> getHistoryStatistics(Long userId) {
+        Object[] row = weeklyPlanRepository.getHistoryStats(userId).get(0);
+        long totalWeeks = row[0] != null ? ((Number) row[0]).longValue() : 0L;
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalWeeks", totalWeeks);
+        stats.put("completedWeeks", row[1] != null ? ((Number) row[1]).longValue() : 0L);
+        stats.put("averageProgress", row[2] != null ? ((Number) row[2]).doubleValue() : 0.0);
+        return stats;
+    }
 }
@@ -0,0 +1,257 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.dto.MaintenanceResult;
+import com.speechtherapy.model.JobCheckpoint;
+import com.speechtherapy.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resets the completion counters of every weekly plan for a given week. Plans are
+ * walked by id in keyset chunks; each chunk is one JDBC batch committed together
+ * with the {@link JobCheckpoint}, and a chunk that fails is retried a few times
+ * before the run gives up. Runs on its own thread so the scheduler is never blocked.
+ *
+ * <p>A run cut short by a crash or shutdown resumes at the next start only if it is
+ * for the current week and made progress within {@code maintenance.resume-window-minutes};
+ * resuming later would wipe progress recorded since. Older runs are marked abandoned.
+ */
+@Service
+public class WeeklyRolloverJob {
+
+    private static final Logger log = LoggerFactory.getLogger(WeeklyRolloverJob.class);
+
+    static final String JOB_NAME = "weekly-rollover";
+
+    private static final String SELECT_IDS =
+        "SELECT id FROM weekly_plans WHERE week_start = ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String RESET_PLAN =
+        "UPDATE weekly_plans SET total_minutes_completed = 0, body_exercises_completed = 0, " +
+        "speech_exercises_completed = 0, score_sum = 0, score_count = 0, is_completed = false, " +
+        "updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int chunkRetries;
+    private final long retryBackoffMs;
+    private final Duration resumeWindow;
+    private final ExecutorService executor;
+
+    // One in-flight run per week; repeated submissions share it
+    private final Map<String, CompletableFuture<MaintenanceResult>> running = new ConcurrentHashMap<>();
+
+    private final AtomicLong progress = new AtomicLong();
+    private final Timer durationTimer;
+    private final Counter rowsCounter;
+
+    public WeeklyRolloverJob(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             JobCheckpointRepository jobCheckpointRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${maintenance.chunk-size:1000}") int chunkSize,
+                             @Value("${maintenance.chunk-retries:3}") int chunkRetries,
+                             @Value("${maintenance.retry-backoff-ms:500}") long retryBackoffMs,
+                             @Value("${maintenance.resume-window-minutes:60}") long resumeWindowMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkRetries = Math.max(0, chunkRetries);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.resumeWindow = Duration.ofMinutes(Math.max(0, resumeWindowMinutes));
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, JOB_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("maintenance.job.progress", progress, AtomicLong::get)
+            .description("Rows processed so far by the current or last run of a maintenance job")
+            .tag("job", JOB_NAME)
+            .register(meterRegistry);
+        this.durationTimer = Timer.builder("maintenance.job.duration")
+            .description("Duration of bulk maintenance job runs")
+            .tag("job", JOB_NAME)
+            .register(meterRegistry);
+        this.rowsCounter = Counter.builder("maintenance.job.rows")
+            .description("Rows updated by bulk maintenance jobs")
+            .tag("job", JOB_NAME)
+            .register(meterRegistry);
+    }
+
+    // Resume recent runs of this week that were still in progress when the application last stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        try {
+            String currentWeek = LocalDate.now().with(DayOfWeek.MONDAY).toString();
+            LocalDateTime cutoff = LocalDateTime.now().minus(resumeWindow);
+            for (JobCheckpoint checkpoint : jobCheckpointRepository.findByJobNameAndStatus(JOB_NAME, JobCheckpoint.Status.RUNNING)) {
+                boolean recent = checkpoint.getUpdatedAt() != null && checkpoint.getUpdatedAt().isAfter(cutoff);
+                if (checkpoint.getRunKey().equals(currentWeek) && recent) {
+                    log.info("Resuming {} for week {} after id {}", JOB_NAME, checkpoint.getRunKey(), checkpoint.getLastId());
+                    submit(LocalDate.parse(checkpoint.getRunKey()));
+                } else {
+                    checkpoint.setStatus(JobCheckpoint.Status.ABANDONED);
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    jobCheckpointRepository.save(checkpoint);
+                    log.warn("Abandoned {} for week {} after id {}, last active {}; reset the week from the admin API if still needed",
+                        JOB_NAME, checkpoint.getRunKey(), checkpoint.getLastId(), checkpoint.getUpdatedAt());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not resume interrupted {} runs", JOB_NAME, e);
+        }
+    }
+
+    /**
+     * Queue the rollover for the week starting on {@code weekStart}. Returns the
+     * in-flight run if one is already going; a week that has completed or been
+     * abandoned is not processed again.
+     */
+    public CompletableFuture<MaintenanceResult> submit(LocalDate weekStart) {
+        return submit(weekStart, false);
+    }
+
+    /**
+     * As {@link #submit(LocalDate)}, but a week that has already completed or been
+     * abandoned is reset again from the start when {@code rerunCompleted} is set, as
+     * the manual admin reset expects.
+     */
+    public CompletableFuture<MaintenanceResult> submit(LocalDate weekStart, boolean rerunCompleted) {
+        String runKey = weekStart.toString();
+        boolean[] started = new boolean[1];
+        CompletableFuture<MaintenanceResult> future = running.computeIfAbsent(runKey, key -> {
+            started[0] = true;
+            return CompletableFuture.supplyAsync(() -> run(weekStart, rerunCompleted), executor);
+        });
+        if (started[0]) {
+            // Attached outside computeIfAbsent: a run that has already finished calls
+            // back on this thread, and the map can't be modified from inside its own update
+            future.whenComplete((result, error) -> {
+                running.remove(runKey, future);
+                if (error != null) {
+                    log.warn("{} for week {} failed after {} retries; submit it again to continue from its checkpoint",
+                        JOB_NAME, runKey, chunkRetries, error);
+                }
+            });
+        }
+        return future;
+    }
+
+    MaintenanceResult run(LocalDate weekStart, boolean rerunCompleted) {
+        String runKey = weekStart.toString();
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JobCheckpoint.idFor(JOB_NAME, runKey))
+            .orElseGet(() -> new JobCheckpoint(JOB_NAME, runKey));
+        if (checkpoint.getStatus() != JobCheckpoint.Status.RUNNING) {
+            if (!rerunCompleted) {
+                return new MaintenanceResult(JOB_NAME, 0, 0, 0);
+            }
+            checkpoint.restart();
+        }
+        jobCheckpointRepository.save(checkpoint);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Date week = Date.valueOf(weekStart);
+        long lastId = checkpoint.getLastId();
+        long rows = checkpoint.getRowsProcessed();
+        int chunks = 0;
+        progress.set(rows);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_IDS, Long.class, week, lastId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long chunkEnd = ids.get(ids.size() - 1);
+            long processedAfterChunk = rows + ids.size();
+            writeChunk(checkpoint, ids, chunkEnd, processedAfterChunk);
+            rowsCounter.increment(ids.size());
+            lastId = chunkEnd;
+            rows = processedAfterChunk;
+            chunks++;
+            progress.set(rows);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        long nanos = sample.stop(durationTimer);
+        if (Thread.currentThread().isInterrupted()) {
+            log.info("{} for week {} stopped after id {}; resumes on next start if still this week", JOB_NAME, runKey, lastId);
+        } else {
+            checkpoint.setStatus(JobCheckpoint.Status.COMPLETED);
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            checkpoint.setUpdatedAt(checkpoint.getCompletedAt());
+            jobCheckpointRepository.save(checkpoint);
+            log.info("{} for week {} reset {} plans in {} chunks", JOB_NAME, runKey, rows, chunks);
+        }
+        return new MaintenanceResult(JOB_NAME, rows, chunks, nanos / 1_000_000);
+    }
+
+    // One chunk and its checkpoint in one transaction, retried with a growing pause
+    private void writeChunk(JobCheckpoint checkpoint, List<Long> ids, long chunkEnd, long processedAfterChunk) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                    List<Object[]> batch = new ArrayList<>(ids.size());
+                    ids.forEach(id -> batch.add(new Object[] { now, id }));
+                    jdbcTemplate.batchUpdate(RESET_PLAN, batch);
+
+                    checkpoint.setLastId(chunkEnd);
+                    checkpoint.setRowsProcessed(processedAfterChunk);
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    jobCheckpointRepository.save(checkpoint);
+                });
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= chunkRetries) {
+                    throw e;
+                }
+                log.warn("{} chunk ending at id {} failed (attempt {}); retrying", JOB_NAME, chunkEnd, attempt + 1, e);
+                try {
+                    Thread.sleep(retryBackoffMs * (attempt + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupt between chunks; the checkpoint already covers everything committed
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,135 @@
+package com.speechtherapy.config;
+
+import com.speechtherapy.dto.CursorPage;
+import com.speechtherapy.dto.GameScoreEntry;
+import com.speechtherapy.model.User;
+import com.speechtherapy.repository.UserRepository;
+import com.speechtherapy.service.HistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets with {@code sql.budget.mode=fail} (see the test application.properties):
+ * work over its budget fails, and the budgeted read paths stay within theirs.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryBudgetTest.OverBudgetConfig.class)
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private TwoQueryService twoQueryService;
+
+    @Test
+    void serviceMethodOverBudgetFails() {
+        assertThatThrownBy(() -> twoQueryService.countTwice())
+            .isInstanceOf(QueryBudgetGuard.QueryBudgetExceededException.class)
+            .hasMessageContaining("TwoQueryService.countTwice ran 2 SQL statements, over its budget of 1")
+            .cause().hasMessageContaining("SQL statement 2 exceeds the budget of 1");
+    }
+
+    @Test
+    void endpointOverBudgetFails() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/test/over-budget")))
+            .hasCauseInstanceOf(QueryBudgetGuard.QueryBudgetExceededException.class)
+            .hasMessageContaining("GET /api/test/over-budget ran 2 SQL statements, over its budget of 1");
+    }
+
+    @Test
+    void loginStaysWithinBudget() throws Exception {
+        userRepository.save(new User("Budget", "budget-login@example.com", "secret123", 30));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"budget-login@example.com\",\"password\":\"secret123\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user.email").value("budget-login@example.com"));
+    }
+
+    @Test
+    void scoreHistoryStaysWithinBudget() throws Exception {
+        User user = userRepository.save(new User("Budget", "budget-history@example.com", "secret123", 30));
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/games/score")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"userId\":" + user.getId() + ",\"gameId\":\"word-match\",\"points\":" + i * 10
+                        + ",\"accuracy\":80,\"difficulty\":\"easy\"}"))
+                .andExpect(status().isOk());
+        }
+
+        CursorPage<GameScoreEntry> page = historyService.gameScores(user.getId(), null, 2);
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.hasMore()).isTrue();
+
+        mockMvc.perform(get("/api/games/user/{userId}/scores", user.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(3));
+    }
+
+    @TestConfiguration
+    static class OverBudgetConfig {
+
+        @Bean
+        TwoQueryService twoQueryService(UserRepository userRepository) {
+            return new TwoQueryService(userRepository);
+        }
+
+        @Bean
+        OverBudgetController overBudgetController(UserRepository userRepository) {
+            return new OverBudgetController(userRepository);
+        }
+    }
+
+    static class TwoQueryService {
+        private final UserRepository userRepository;
+
+        TwoQueryService(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @QueryBudget(1)
+        public long countTwice() {
+            return userRepository.count() + userRepository.count();
+        }
+    }
+
+    @RestController
+    static class OverBudgetController {
+        private final UserRepository userRepository;
+
+        OverBudgetController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @QueryBudget(1)
+        @GetMapping("/api/test/over-budget")
+        public long overBudget() {
+            return userRepository.count() + userRepository.count();
+        }
+    }
+}
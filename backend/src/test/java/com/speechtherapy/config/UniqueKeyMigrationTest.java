@@ -0,0 +1,58 @@
+package com.speechtherapy.config;
+
+import com.speechtherapy.model.User;
+import com.speechtherapy.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UniqueKeyMigrationTest {
+
+    @Autowired
+    private UniqueKeyMigration uniqueKeyMigration;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mergesDuplicateProgressRowsAndRestoresTheKey() {
+        User user = userRepository.save(new User("dup", "dup-" + System.nanoTime() + "@example.com", "secret", 30));
+        Date day = Date.valueOf(LocalDate.of(2024, 3, 4));
+        jdbcTemplate.execute("ALTER TABLE user_progress DROP CONSTRAINT uk_user_progress_user_date");
+        assertThat(uniqueKeyMigration.hasUniqueKey("user_progress", List.of("user_id", "practice_date"))).isFalse();
+
+        String insert = "INSERT INTO user_progress (user_id, practice_date, total_practice_time, exercises_completed, " +
+            "average_score, score_sum, score_count, phoneme_exercises, word_exercises, sentence_exercises, " +
+            "conversation_exercises, points_earned, goals_met) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, 0, 0, ?, ?)";
+        jdbcTemplate.update(insert, user.getId(), day, 6, 2, 80.0, 160.0, 2, 2, 20, false);
+        // A legacy row with an average but no score count
+        jdbcTemplate.update(insert, user.getId(), day, 3, 1, 50.0, null, null, 1, 10, true);
+
+        uniqueKeyMigration.ensureUniqueKeys();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT * FROM user_progress WHERE user_id = ? AND practice_date = ?", user.getId(), day);
+        assertThat(rows).hasSize(1);
+        Map<String, Object> merged = rows.get(0);
+        assertThat(((Number) merged.get("exercises_completed")).intValue()).isEqualTo(3);
+        assertThat(((Number) merged.get("word_exercises")).intValue()).isEqualTo(3);
+        assertThat(((Number) merged.get("total_practice_time")).intValue()).isEqualTo(9);
+        assertThat(((Number) merged.get("points_earned")).intValue()).isEqualTo(30);
+        assertThat(((Number) merged.get("score_count")).longValue()).isEqualTo(3);
+        assertThat(((Number) merged.get("average_score")).doubleValue()).isEqualTo(70.0);
+        assertThat(merged.get("goals_met")).isEqualTo(true);
+        assertThat(uniqueKeyMigration.hasUniqueKey("user_progress", List.of("user_id", "practice_date"))).isTrue();
+    }
+}
@@ -0,0 +1,106 @@
+package com.speechtherapy.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Python nlp_service, active only under the {@code nlp-stub}
+ * profile. Tests set its latency and failure rate to drive the NLP client's
+ * deadline, retries and circuit breaker, and read back how many calls reached it.
+ */
+@RestController
+@RequestMapping("/api/nlp-stub")
+@Profile("nlp-stub")
+public class NlpStubController {
+
+    @Value("${nlp.stub.latency-ms:0}")
+    private volatile long latencyMs;
+
+    @Value("${nlp.stub.failure-rate:0.0}")
+    private volatile double failureRate;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    // Calls received, single and batch, since the last reset
+    public int getRequests() {
+        return requests.get();
+    }
+
+    public void reset() {
+        latencyMs = 0;
+        failureRate = 0.0;
+        requests.set(0);
+    }
+
+    @PostMapping("/analyze")
+    public ResponseEntity<Map<String, Object>> analyze(
+            @RequestParam("audio") MultipartFile audioFile,
+            @RequestParam(value = "exerciseType", defaultValue = "phoneme") String exerciseType,
+            @RequestParam(value = "targetText", defaultValue = "") String targetText) throws InterruptedException {
+
+        requests.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        if (random.nextDouble() < failureRate) {
+            return ResponseEntity.status(503).body(Map.of("error", "Stub failure injected"));
+        }
+
+        return ResponseEntity.ok(stubResult(exerciseType, targetText, audioFile.getSize()));
+    }
+
+    @PostMapping("/analyze/batch")
+    public ResponseEntity<Map<String, Object>> analyzeBatch(
+            @RequestParam("audio") List<MultipartFile> audioFiles,
+            @RequestParam(value = "exerciseType", defaultValue = "phoneme") String exerciseType,
+            @RequestParam(value = "targetText", required = false) List<String> targetTexts) throws InterruptedException {
+
+        // One simulated round trip for the whole batch
+        requests.incrementAndGet();
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return ResponseEntity.status(503).body(Map.of("error", "Stub failure injected"));
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int i = 0; i < audioFiles.size(); i++) {
+            String targetText = targetTexts != null && i < targetTexts.size() ? targetTexts.get(i) : "";
+            results.add(stubResult(exerciseType, targetText, audioFiles.get(i).getSize()));
+        }
+        return ResponseEntity.ok(Map.of("results", results));
+    }
+
+    private Map<String, Object> stubResult(String exerciseType, String targetText, long audioBytes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int overall = 60 + random.nextInt(36);
+        Map<String, Object> result = new HashMap<>();
+        result.put("overallScore", overall);
+        result.put("accuracyScore", overall + random.nextInt(-5, 6));
+        result.put("clarityScore", overall + random.nextInt(-5, 6));
+        result.put("fluencyScore", overall + random.nextInt(-7, 8));
+        result.put("feedback", List.of("Stub analysis for " + exerciseType + " '" + targetText + "'.",
+            "Received " + audioBytes + " bytes of audio."));
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.speechtherapy.repository;
+
+import com.speechtherapy.model.Exercise;
+import com.speechtherapy.model.User;
+import com.speechtherapy.model.UserProgress;
+import com.speechtherapy.model.WeeklyPlan;
+import com.speechtherapy.service.ProgressWriteBehindBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads adding to the same user, day and weekly plan at once: the counters
+ * are incremented in the database, so every update must land exactly once.
+ */
+@SpringBootTest
+class CounterUpdateConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int UPDATES_PER_THREAD = 20;
+    private static final int TOTAL = THREADS * UPDATES_PER_THREAD;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @Autowired
+    private WeeklyPlanRepository weeklyPlanRepository;
+
+    @Autowired
+    private ProgressWriteBehindBuffer progressBuffer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void userTotalsAreExactUnderConcurrentIncrements() throws Exception {
+        User user = newUser("totals");
+
+        runConcurrently(() -> transactionTemplate.executeWithoutResult(status ->
+            userRepository.incrementTotals(user.getId(), 3, 1, LocalDateTime.now())));
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(reloaded.getTotalPoints()).isEqualTo(TOTAL * 3);
+        assertThat(reloaded.getExercisesCompleted()).isEqualTo(TOTAL);
+    }
+
+    @Test
+    void bufferedDailyProgressIsExactUnderConcurrentRecords() throws Exception {
+        User user = newUser("daily");
+        LocalDate today = LocalDate.now();
+
+        runConcurrently(() -> progressBuffer.record(user, completedExercise(user, "word", 5, 80)));
+        progressBuffer.flush();
+
+        UserProgress progress = userProgressRepository.findByUserAndPracticeDate(user, today).orElseThrow();
+        assertThat(progress.getExercisesCompleted()).isEqualTo(TOTAL);
+        assertThat(progress.getWordExercises()).isEqualTo(TOTAL);
+        assertThat(progress.getPointsEarned()).isEqualTo(TOTAL * 5);
+        assertThat(progress.getScore().getCount()).isEqualTo(TOTAL);
+        assertThat(progress.getScore().getAverage()).isEqualTo(80.0);
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(reloaded.getTotalPoints()).isEqualTo(TOTAL * 5);
+        assertThat(reloaded.getExercisesCompleted()).isEqualTo(TOTAL);
+    }
+
+    @Test
+    void weeklyPlanProgressIsExactUnderConcurrentIncrements() throws Exception {
+        User user = newUser("weekly");
+        WeeklyPlan plan = weeklyPlanRepository.save(new WeeklyPlan(user, LocalDate.now()));
+
+        runConcurrently(() -> transactionTemplate.executeWithoutResult(status ->
+            weeklyPlanRepository.incrementCompleted(plan.getId(), 3, 1, 0, 70.0, 1, LocalDateTime.now())));
+
+        WeeklyPlan reloaded = weeklyPlanRepository.findById(plan.getId()).orElseThrow();
+        assertThat(reloaded.getTotalMinutesCompleted()).isEqualTo(TOTAL * 3);
+        assertThat(reloaded.getSpeechExercisesCompleted()).isEqualTo(TOTAL);
+        assertThat(reloaded.getScore().getCount()).isEqualTo(TOTAL);
+        assertThat(reloaded.getAverageScore()).isEqualTo(70.0);
+    }
+
+    private User newUser(String name) {
+        User user = new User(name, name + "-" + System.nanoTime() + "@example.com", "secret", 30);
+        return userRepository.save(user);
+    }
+
+    private static Exercise completedExercise(User user, String type, int points, int score) {
+        Exercise exercise = new Exercise(user, type, "target");
+        exercise.setPointsEarned(points);
+        exercise.setOverallScore(score);
+        return exercise;
+    }
+
+    // Run the update UPDATES_PER_THREAD times on each of THREADS threads, all released together
+    private static void runConcurrently(Runnable update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Callable<Void> worker = () -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        update.run();
+                    }
+                    return null;
+                };
+                results.add(executor.submit(worker));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
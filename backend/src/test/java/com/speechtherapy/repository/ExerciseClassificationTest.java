@@ -0,0 +1,44 @@
+package com.speechtherapy.repository;
+
+import com.speechtherapy.model.BodyExercise;
+import com.speechtherapy.model.DatabaseExercise;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Both entities on {@code body_exercises} fill the derived columns, so rows saved
+ * through either are found by the indexed lookups.
+ */
+@SpringBootTest
+class ExerciseClassificationTest {
+
+    @Autowired
+    private BodyExerciseRepository bodyExerciseRepository;
+
+    @Autowired
+    private DatabaseExerciseRepository databaseExerciseRepository;
+
+    @Test
+    void rowsSavedAsBodyExerciseAreFoundByDerivedColumns() {
+        BodyExercise saved = bodyExerciseRepository.save(new BodyExercise("Lip trills", "vocal", "advanced",
+            "Advanced vocal warm-up with lip trills", "Trill on one breath", 60, 5, "lips", "Resonance"));
+
+        assertThat(databaseExerciseRepository.findByDerivedType("vocal"))
+            .extracting(DatabaseExercise::getId).contains(saved.getId());
+        assertThat(databaseExerciseRepository.findByDerivedDifficulty("advanced"))
+            .extracting(DatabaseExercise::getId).contains(saved.getId());
+        assertThat(databaseExerciseRepository.findByDerivedCategory("Facial Muscle Training"))
+            .extracting(DatabaseExercise::getId).contains(saved.getId());
+
+        saved.setDescription("Relaxation breathing for beginners");
+        bodyExerciseRepository.save(saved);
+
+        assertThat(databaseExerciseRepository.findByDerivedType("breathing"))
+            .extracting(DatabaseExercise::getId).contains(saved.getId());
+        assertThat(databaseExerciseRepository.findByDerivedType("vocal"))
+            .extracting(DatabaseExercise::getId).doesNotContain(saved.getId());
+    }
+}
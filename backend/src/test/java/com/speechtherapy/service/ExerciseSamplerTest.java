@@ -0,0 +1,82 @@
+package com.speechtherapy.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExerciseSamplerTest {
+
+    private static final List<Integer> POOL = IntStream.range(0, 100).boxed().toList();
+
+    private final ExerciseSampler sampler = new ExerciseSampler(null);
+
+    @Test
+    void sampleIndexesAreDistinctAndInRange() {
+        Random random = new Random(7);
+        int[][] sizes = { {0, 0}, {0, 5}, {5, 0}, {1, 1}, {10, 3}, {10, 10}, {10, 25}, {1000, 999}, {5, -1} };
+        for (int[] size : sizes) {
+            int n = size[0];
+            int k = size[1];
+            for (int run = 0; run < 50; run++) {
+                int[] picks = ExerciseSampler.sampleIndexes(n, k, random);
+
+                assertThat(picks).hasSize(Math.max(0, Math.min(k, n)));
+                assertThat(picks).doesNotHaveDuplicates();
+                assertThat(IntStream.of(picks)).allMatch(pick -> pick >= 0 && pick < n);
+            }
+        }
+    }
+
+    @Test
+    void sampleIndexesReachEveryIndexInEveryPosition() {
+        Random random = new Random(11);
+        boolean[][] seen = new boolean[3][6];
+        for (int run = 0; run < 2000; run++) {
+            int[] picks = ExerciseSampler.sampleIndexes(6, 3, random);
+            for (int position = 0; position < picks.length; position++) {
+                seen[position][picks[position]] = true;
+            }
+        }
+        for (boolean[] position : seen) {
+            assertThat(position).containsOnly(true);
+        }
+    }
+
+    @Test
+    void seededSampleIsReproducible() {
+        List<Integer> first = sampler.sample(POOL, 10, 42L);
+
+        assertThat(sampler.sample(POOL, 10, 42L)).isEqualTo(first);
+        assertThat(sampler.sample(POOL, 10, 43L)).isNotEqualTo(first);
+        assertThat(first).hasSize(10).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void seededSampleWithFallbackIsReproducible() {
+        List<Integer> preferred = POOL.subList(0, 3);
+        List<List<Integer>> fallbacks = List.of(POOL.subList(3, 50), POOL.subList(50, 100));
+
+        List<Integer> first = sampler.sampleWithFallback(preferred, fallbacks, 8, 42L);
+
+        assertThat(sampler.sampleWithFallback(preferred, fallbacks, 8, 42L)).isEqualTo(first);
+        assertThat(first).hasSize(8).doesNotHaveDuplicates();
+        // Every preferred item comes first, the rest are topped up from the fallbacks
+        assertThat(first.subList(0, 3)).containsExactlyInAnyOrderElementsOf(preferred);
+        assertThat(first.subList(3, 8)).allMatch(item -> item >= 3);
+    }
+
+    @Test
+    void configuredSeedMakesDrawsRepeatable() {
+        ExerciseSampler one = new ExerciseSampler(42L);
+        ExerciseSampler other = new ExerciseSampler(42L);
+        long[] ids = POOL.stream().mapToLong(Integer::longValue).toArray();
+
+        assertThat(one.sample(POOL, 5)).isEqualTo(other.sample(POOL, 5));
+        assertThat(Arrays.equals(one.sampleIds(ids, 5), other.sampleIds(ids, 5))).isTrue();
+    }
+}
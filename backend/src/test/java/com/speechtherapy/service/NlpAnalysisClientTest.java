@@ -0,0 +1,148 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.controller.NlpStubController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The NLP client against {@link NlpStubController} on a real port: deadline, retries
+ * and circuit breaker, with the stub's latency and failure rate set per test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("nlp-stub")
+class NlpAnalysisClientTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NlpStubController stub;
+
+    @TempDir
+    Path tempDir;
+
+    private Path audio;
+    private NlpAnalysisClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub.reset();
+        audio = Files.write(tempDir.resolve("clip.wav"), new byte[256]);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void returnsNormalizedAnalysis() {
+        client = client(5000, 2, 5);
+
+        Map<String, Object> result = client.analyze(audio, "word", "hello").block(WAIT);
+
+        assertThat(result).containsEntry("exerciseType", "word").containsEntry("targetText", "hello");
+        assertThat((Integer) result.get("overallScore")).isBetween(0, 100);
+        assertThat(result.get("feedback")).asList().hasSize(2);
+        assertThat(stub.getRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesServerErrorsUpToTheLimit() {
+        stub.setFailureRate(1.0);
+        client = client(5000, 2, 10);
+
+        assertThatThrownBy(() -> client.analyze(audio, "word", "hello").block(WAIT))
+            .hasMessageContaining("Retries exhausted: 2/2");
+        assertThat(stub.getRequests()).isEqualTo(3);
+        assertThat(client.getCircuitState()).isEqualTo(SimpleCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failsAtTheDeadlineWhenTheServiceIsSlow() {
+        stub.setLatencyMs(2000);
+        client = client(300, 2, 10);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.analyze(audio, "word", "hello").block(WAIT))
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+        assertThat(stub.getRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void openBreakerShortCircuitsCalls() {
+        stub.setFailureRate(1.0);
+        client = client(5000, 0, 2);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.analyze(audio, "word", "hello").block(WAIT));
+        }
+        assertThat(client.getCircuitState()).isEqualTo(SimpleCircuitBreaker.State.OPEN);
+
+        stub.setFailureRate(0.0);
+        assertThatThrownBy(() -> client.analyze(audio, "word", "hello").block(WAIT))
+            .isInstanceOf(NlpAnalysisClient.NlpUnavailableException.class)
+            .hasMessage("NLP circuit breaker is open");
+        assertThat(stub.getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void unsubscribedCallDoesNotHoldTheTrialSlot() throws InterruptedException {
+        stub.setFailureRate(1.0);
+        client = client(5000, 0, 1, 200);
+        assertThatThrownBy(() -> client.analyze(audio, "word", "hello").block(WAIT));
+        Thread.sleep(300);
+
+        // Built but never subscribed, e.g. dropped by a caller that failed first
+        client.analyze(audio, "word", "hello");
+
+        stub.setFailureRate(0.0);
+        assertThat(client.analyze(audio, "word", "hello").block(WAIT)).containsKey("overallScore");
+        assertThat(client.getCircuitState()).isEqualTo(SimpleCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void cancelledCallIsNotCountedAsAFailure() throws InterruptedException {
+        stub.setLatencyMs(1000);
+        client = client(5000, 0, 1);
+
+        Disposable call = client.analyze(audio, "word", "hello").subscribe();
+        Thread.sleep(200);
+        call.dispose();
+
+        assertThat(client.getCircuitState()).isEqualTo(SimpleCircuitBreaker.State.CLOSED);
+    }
+
+    // A client on the stub with a 5s per-attempt timeout, 10ms retry backoff and a 30s open breaker
+    private NlpAnalysisClient client(long deadlineMs, int maxRetries, int failureThreshold) {
+        return client(deadlineMs, maxRetries, failureThreshold, 30000);
+    }
+
+    private NlpAnalysisClient client(long deadlineMs, int maxRetries, int failureThreshold, long breakerOpenMs) {
+        return new NlpAnalysisClient(new SimpleMeterRegistry(), true, "http://localhost:" + port + "/api/nlp-stub",
+            4, 1000, 1000, 5000, deadlineMs, maxRetries, 10, failureThreshold, breakerOpenMs);
+    }
+}
@@ -0,0 +1,86 @@
+package com.speechtherapy.service;
+
+import com.speechtherapy.dto.MaintenanceResult;
+import com.speechtherapy.model.JobCheckpoint;
+import com.speechtherapy.model.User;
+import com.speechtherapy.model.WeeklyPlan;
+import com.speechtherapy.repository.JobCheckpointRepository;
+import com.speechtherapy.repository.UserRepository;
+import com.speechtherapy.repository.WeeklyPlanRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class WeeklyRolloverJobTest {
+
+    @Autowired
+    private WeeklyRolloverJob weeklyRolloverJob;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WeeklyPlanRepository weeklyPlanRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void staleRunsAreAbandonedInsteadOfResumed() throws Exception {
+        LocalDate lastWeek = LocalDate.now().with(DayOfWeek.MONDAY).minusWeeks(1);
+        WeeklyPlan plan = planWithProgress("stale", lastWeek);
+        checkpoint(lastWeek, LocalDateTime.now());
+
+        weeklyRolloverJob.resumeInterrupted();
+
+        JobCheckpoint checkpoint = jobCheckpointRepository
+            .findById(JobCheckpoint.idFor(WeeklyRolloverJob.JOB_NAME, lastWeek.toString())).orElseThrow();
+        assertThat(checkpoint.getStatus()).isEqualTo(JobCheckpoint.Status.ABANDONED);
+        // A scheduled or repeated submission leaves the week alone
+        MaintenanceResult result = weeklyRolloverJob.submit(lastWeek).get(10, TimeUnit.SECONDS);
+        assertThat(result.rowsAffected()).isZero();
+        assertThat(weeklyPlanRepository.findById(plan.getId()).orElseThrow().getTotalMinutesCompleted()).isEqualTo(30);
+    }
+
+    @Test
+    void recentRunOfThisWeekIsResumed() throws Exception {
+        LocalDate thisWeek = LocalDate.now().with(DayOfWeek.MONDAY);
+        WeeklyPlan plan = planWithProgress("recent", thisWeek);
+        checkpoint(thisWeek, LocalDateTime.now().minusMinutes(5));
+
+        weeklyRolloverJob.resumeInterrupted();
+        weeklyRolloverJob.submit(thisWeek).get(10, TimeUnit.SECONDS);
+
+        JobCheckpoint checkpoint = jobCheckpointRepository
+            .findById(JobCheckpoint.idFor(WeeklyRolloverJob.JOB_NAME, thisWeek.toString())).orElseThrow();
+        assertThat(checkpoint.getStatus()).isEqualTo(JobCheckpoint.Status.COMPLETED);
+        assertThat(weeklyPlanRepository.findById(plan.getId()).orElseThrow().getTotalMinutesCompleted()).isZero();
+    }
+
+    private WeeklyPlan planWithProgress(String name, LocalDate weekStart) {
+        User user = userRepository.save(new User(name, name + "-" + System.nanoTime() + "@example.com", "secret", 30));
+        WeeklyPlan plan = weeklyPlanRepository.save(new WeeklyPlan(user, weekStart));
+        transactionTemplate.executeWithoutResult(status ->
+            weeklyPlanRepository.incrementCompleted(plan.getId(), 30, 2, 0, 160.0, 2, LocalDateTime.now()));
+        return plan;
+    }
+
+    // A run left RUNNING by a crash, last active at lastActive
+    private void checkpoint(LocalDate weekStart, LocalDateTime lastActive) {
+        JobCheckpoint checkpoint = new JobCheckpoint(WeeklyRolloverJob.JOB_NAME, weekStart.toString());
+        checkpoint.setUpdatedAt(lastActive);
+        jobCheckpointRepository.save(checkpoint);
+    }
+}
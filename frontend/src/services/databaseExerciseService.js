@@ -88,11 +88,12 @@ export class DatabaseExerciseService {
   }
   
   /**
-   * Fetch exercises with pagination
+   * Fetch one page of exercises; pass the previous response's nextPageToken to continue
    */
-  static async getExercisesWithPagination(page = 0, size = 10) {
+  static async getExercisesWithPagination(pageToken = null, size = 10) {
     try {
-      const response = await fetch(`${API_CONFIG.BASE_URL}${API_CONFIG.DATABASE_EXERCISES.PAGINATED}?page=${page}&size=${size}`);
+      const tokenParam = pageToken ? `&pageToken=${encodeURIComponent(pageToken)}` : '';
+      const response = await fetch(`${API_CONFIG.BASE_URL}${API_CONFIG.DATABASE_EXERCISES.PAGINATED}?size=${size}${tokenParam}`);
       const data = await response.json();
       return data;
     } catch (error) {
@@ -708,6 +708,41 @@ def analyze_speech():
             'feedback': ['Analysis encountered an error. Please try again.']
         }), 500
 
+@app.route('/analyze/batch', methods=['POST'])
+def analyze_speech_batch():
+    """Analyze several clips of one exercise type in a single request.
+
+    Expects repeated 'audio' file parts with matching 'targetText' form fields.
+    Results are returned in submission order.
+    """
+    files = request.files.getlist('audio')
+    if not files:
+        return jsonify({'error': 'No audio files provided'}), 400
+
+    exercise_type = request.form.get('exerciseType', 'phoneme')
+    target_texts = request.form.getlist('targetText')
+
+    results = []
+    for index, file in enumerate(files):
+        target_text = target_texts[index] if index < len(target_texts) else ''
+        filename = secure_filename(file.filename) or f'clip_{index}.wav'
+        if not filename.endswith(('.wav', '.mp3', '.m4a', '.ogg')):
+            filename += '.wav'
+        filepath = os.path.join(app.config['UPLOAD_FOLDER'], f'batch_{index}_{filename}')
+        try:
+            file.save(filepath)
+            results.append(speech_analyzer.analyze_audio_file(filepath, exercise_type, target_text))
+        except Exception as e:
+            logger.error(f"Batch speech analysis error: {str(e)}")
+            results.append(speech_analyzer._generate_fallback_analysis(exercise_type, target_text))
+        finally:
+            try:
+                os.remove(filepath)
+            except OSError:
+                pass
+
+    return jsonify({'results': results})
+
 @app.route('/mock-analyze', methods=['POST'])
 def mock_analyze():
     """Mock analysis endpoint for testing without audio files"""
@@ -743,5 +778,7 @@ def get_exercise_content(exercise_type):
 
 if __name__ == '__main__':
     print("Starting Speech Analysis NLP Service...")
-    print("Service will be available at http://localhost:8080")
-    app.run(host='0.0.0.0', port=8080, debug=True)
\ No newline at end of file
+    # Defaults to 8000 so it does not clash with the Spring Boot backend on 8080
+    port = int(os.environ.get('NLP_SERVICE_PORT', '8000'))
+    print(f"Service will be available at http://localhost:{port}")
+    app.run(host='0.0.0.0', port=port, debug=True)
\ No newline at end of file